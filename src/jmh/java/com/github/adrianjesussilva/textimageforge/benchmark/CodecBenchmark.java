@@ -0,0 +1,81 @@
+package com.github.adrianjesussilva.textimageforge.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.codec.ImageCodec;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+/**
+ * Encode and decode time of a rendered voucher with each {@link ImageEncoder}
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+	@Param({"png", "jpg", "qoi", "raw"})
+	private String encoder;
+
+	private ImageCodec codec;
+	private BufferedImage image;
+	private byte[] encoded;
+
+	@Setup
+	public void setup() throws Exception {
+		codec = ImageCodec.of(ImageEncoder.valueOf(encoder));
+
+		ImageForge forge = ImageForge.builder().build();
+		for(int i = 0; i < 40; i++)
+			forge.addLine(TextForge.builder()
+					.text("LINE " + i + " MERCHANT 000123 TOTAL " + (i * 37) + ".50")
+					.textAlign(TextAlign.values()[i % 3])
+					.font(new Font(Font.MONOSPACED, Font.PLAIN, 12))
+					.color(Color.BLACK)
+					.build());
+		image = forge.forgeImage(ImageEncoder.png, null);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		codec.write(image, output);
+		encoded = output.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream(encoded.length);
+		codec.write(image, output);
+		return output.toByteArray();
+	}
+
+	@Benchmark
+	public BufferedImage decode() throws IOException {
+		return codec.read(new ByteArrayInputStream(encoded));
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.github.adrianjesussilva.textimageforge.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.adrianjesussilva.textimageforge.logic.kernel.PixelKernels;
+import com.github.adrianjesussilva.textimageforge.logic.kernel.ScalarPixelKernels;
+
+/**
+ * Pixel kernels over a 330x720 voucher, scalar against the selected ones. The selected kernels are the
+ * vector ones only on JDK 21+ with the Java 21 classes and the incubator module:
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:target/classes/META-INF/versions/21:... org.openjdk.jmh.Main KernelBenchmark
+ * </pre>
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark {
+
+	private static final int WIDTH = 330;
+	private static final int HEIGHT = 720;
+
+	@Param({"scalar", "selected"})
+	private String kernels;
+
+	private PixelKernels pixelKernels;
+	private int[] rgb;
+	private byte[] gray;
+	private byte[] packed;
+	private byte[] coverage;
+	private int[] canvas;
+
+	@Setup
+	public void setup() {
+		pixelKernels = "scalar".equals(kernels) ? ScalarPixelKernels.INSTANCE : PixelKernels.selected();
+		Random random = new Random(3);
+		rgb = new int[WIDTH * HEIGHT];
+		for(int i = 0; i < rgb.length; i++)
+			rgb[i] = random.nextInt();
+		gray = new byte[WIDTH * HEIGHT];
+		random.nextBytes(gray);
+		packed = new byte[(WIDTH + 7) / 8 * HEIGHT];
+		// a third of the signature area without ink, as the paper between the strokes
+		coverage = new byte[WIDTH * HEIGHT];
+		random.nextBytes(coverage);
+		for(int i = 0; i < coverage.length; i += 3)
+			coverage[i] = 0;
+		canvas = new int[WIDTH * HEIGHT];
+	}
+
+	@Benchmark
+	public int[] fill() {
+		pixelKernels.fill(canvas, 0, canvas.length, 0xFFFFFFFF);
+		return canvas;
+	}
+
+	@Benchmark
+	public byte[] luminance() {
+		for(int y = 0; y < HEIGHT; y++)
+			pixelKernels.luminance(rgb, y * WIDTH, gray, y * WIDTH, WIDTH);
+		return gray;
+	}
+
+	@Benchmark
+	public byte[] threshold() {
+		int scanline = (WIDTH + 7) / 8;
+		for(int y = 0; y < HEIGHT; y++)
+			pixelKernels.threshold(gray, y * WIDTH, packed, y * scanline, WIDTH, 128);
+		return packed;
+	}
+
+	@Benchmark
+	public int[] composite() {
+		System.arraycopy(rgb, 0, canvas, 0, canvas.length);
+		for(int y = 0; y < HEIGHT; y++)
+			pixelKernels.composite(canvas, y * WIDTH, coverage, y * WIDTH, WIDTH, 0x1A2B3C);
+		return canvas;
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.github.adrianjesussilva.textimageforge.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextDocument;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+/**
+ * Build and layout time of a large document kept as {@link TextForge} objects or as a {@link TextDocument}.
+ * Run it with -prof gc to compare the allocated bytes per line of both models
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineModelBenchmark {
+
+	private static final Font[] FONTS = {new Font(Font.MONOSPACED, Font.PLAIN, 12), new Font(Font.MONOSPACED, Font.BOLD, 12)};
+
+	@Param({"1000", "20000"})
+	private int lines;
+
+	private String[] texts;
+	private FontRenderContext fontRenderContext;
+
+	@Setup
+	public void setup() {
+		texts = new String[lines];
+		for(int i = 0; i < lines; i++)
+			texts[i] = "LINE " + i + " TOTAL " + (i * 37) + ".50";
+		fontRenderContext = new FontRenderContext(null, RenderingHints.VALUE_TEXT_ANTIALIAS_ON, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+	}
+
+	/**
+	 * the layout the forge did before the document model, new fonts and colors per line and boxed geometry
+	 */
+	@Benchmark
+	public int textForge() {
+		List<TextForge> document = new ArrayList<>();
+		for(int i = 0; i < lines; i++)
+			document.add(TextForge.builder().text(texts[i]).textAlign(TextAlign.values()[i % 3])
+					.font(FONTS[i % 2].deriveFont(12f)).color(new Color(0, 0, 0)).build());
+
+		int height = 0;
+		for(TextForge line : document) {
+			LineMetrics metrics = line.getFont().getLineMetrics(line.getText(), fontRenderContext);
+			line.setWidth((int) Math.ceil(line.getFont().getStringBounds(line.getText(), fontRenderContext).getWidth()));
+			line.setHeight((int) Math.ceil(metrics.getHeight()));
+			height += line.getHeight();
+		}
+		return height;
+	}
+
+	@Benchmark
+	public int textDocument() throws InvalidTextForgeConfigException {
+		TextDocument document = new TextDocument(lines);
+		for(int i = 0; i < lines; i++)
+			document.add(texts[i], TextAlign.values()[i % 3], FONTS[i % 2].deriveFont(12f), new Color(0, 0, 0));
+
+		document.measure(fontRenderContext);
+		int height = 0;
+		for(int i = 0; i < document.size(); i++)
+			height += document.getHeight(i);
+		return height;
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.github.adrianjesussilva.textimageforge.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+/**
+ * Throughput of a voucher rendered and encoded with each {@link RenderingProfile}
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileBenchmark {
+
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+	@Param({"FAST_BILEVEL", "BALANCED", "HIGH_QUALITY"})
+	private RenderingProfile profile;
+
+	@Param({"png", "raw"})
+	private ImageEncoder encoder;
+
+	@Benchmark
+	public byte[] forge() throws Exception {
+		ImageForge forge = ImageForge.builder().renderingProfile(profile).build();
+		for(int i = 0; i < 40; i++)
+			forge.addLine(TextForge.builder().text("LINE " + i + " MERCHANT 000123 TOTAL " + (i * 37) + ".50")
+					.textAlign(TextAlign.values()[i % 3]).font(FONT).color(Color.BLACK).build());
+		return forge.forgeImage(encoder);
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.github.adrianjesussilva.textimageforge.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.raster.GlyphRasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.raster.Java2DRasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.raster.RasterCanvas;
+import com.github.adrianjesussilva.textimageforge.logic.raster.Rasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextDocument;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextStyle;
+
+/**
+ * Draw time of a voucher with each rasterizer backend from 1, 2, 4 and 8 threads at once, to see how each
+ * backend scales. The scaling only shows on a host with at least as many free cores as threads, with less
+ * cores the time per draw grows with the threads for both backends
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterizerBenchmark {
+
+	private static final int WIDTH = 420;
+	private static final int LINES = 40;
+	private static final int LINE_HEIGHT = 17;
+
+	@Param({"java2d", "glyph"})
+	private String backend;
+
+	private Rasterizer rasterizer;
+	private TextDocument document;
+
+	@Setup
+	public void setup() throws InvalidTextForgeConfigException {
+		rasterizer = "glyph".equals(backend) ? GlyphRasterizer.INSTANCE : Java2DRasterizer.INSTANCE;
+		document = new TextDocument(LINES);
+		for(int i = 0; i < LINES; i++)
+			document.add("LINE " + i + " MERCHANT 000123 TOTAL " + (i * 37) + ".50", TextAlign.LEFT,
+					new Font(Font.MONOSPACED, i % 4 == 0 ? Font.BOLD : Font.PLAIN, 12), Color.BLACK);
+	}
+
+	private BufferedImage draw() {
+		RasterCanvas canvas = rasterizer.createCanvas(WIDTH, LINES * LINE_HEIGHT + 30, BufferedImage.TYPE_INT_RGB, Color.WHITE);
+		for(int i = 0; i < document.size(); i++) {
+			TextStyle style = document.getStyle(i);
+			canvas.drawText(document.getText(i), 15, 15 + (i + 1) * LINE_HEIGHT, style);
+		}
+		return canvas.finish();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public BufferedImage draw1Thread() {
+		return draw();
+	}
+
+	@Benchmark
+	@Threads(2)
+	public BufferedImage draw2Threads() {
+		return draw();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BufferedImage draw4Threads() {
+		return draw();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public BufferedImage draw8Threads() {
+		return draw();
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.github.adrianjesussilva.textimageforge.enumerator;
+
+/**
+ * Enumerator of what a render does when the memory budget can not hold it
+ * 
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public enum AdmissionPolicy {
+
+	/** wait until the running renders release enough memory */
+	WAIT,
+	/** reject the render immediately */
+	FAIL_FAST,
+	/** render in gray scale (a quarter of the memory), waiting only for that reduced amount */
+	DEGRADE
+	
+}
@@ -1,15 +1,19 @@
-
 package com.github.adrianjesussilva.textimageforge.enumerator;
 
 /**
  * Enumerator of the valid image encoders that can ve used to generate the image 
  * 
+ * jpg and png are written with ImageIO, qoi (Quite OK Image format) and raw are written directly from
+ * the raster, they are meant for fast internal hops where encode time matters more than size
+ * 
  * @author Adrian Jesus Simoes Silva
  *
  */
 public enum ImageEncoder {
 
 	jpg,
-	png
+	png,
+	qoi,
+	raw
 	
 }
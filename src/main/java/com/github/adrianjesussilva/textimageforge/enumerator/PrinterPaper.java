@@ -0,0 +1,38 @@
+package com.github.adrianjesussilva.textimageforge.enumerator;
+
+/**
+ * Enumerator of the thermal printer papers, with the dots a 203 dpi head prints in a row
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public enum PrinterPaper {
+
+	/** 58 mm paper, 48 mm printable */
+	MM58(384),
+	/** 80 mm paper, 72 mm printable */
+	MM80(576);
+
+	// Attributes
+	private final int dots;
+
+	// Constructor
+	PrinterPaper(int dots) {
+		this.dots = dots;
+	}
+
+	/**
+	 * @return int - dots printed in a row, the width of the raster
+	 */
+	public int getDots() {
+		return dots;
+	}
+
+	/**
+	 * @return int - bytes of a packed raster row
+	 */
+	public int getBytesPerRow() {
+		return (dots + 7) / 8;
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.github.adrianjesussilva.textimageforge.enumerator;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enumerator of the speed/quality profiles of the render, each one sets the same rendering hints, color
+ * mode and resampling of the signature everywhere the image is drawn
+ *
+ * FAST_BILEVEL draws one bit per pixel without antialiasing, for thermal printers and pipelines that
+ * only need black and white. BALANCED is the default and draws as the forge always did, antialiased
+ * text with whole pixel metrics. HIGH_QUALITY uses fractional metrics, quality hints and an area
+ * average resize of the signature, for archived images
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public enum RenderingProfile {
+
+	FAST_BILEVEL(BufferedImage.TYPE_BYTE_BINARY, false, false, false,
+			RenderingHints.VALUE_RENDER_SPEED, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR,
+			RenderingHints.VALUE_COLOR_RENDER_SPEED, RenderingHints.VALUE_STROKE_DEFAULT),
+	BALANCED(BufferedImage.TYPE_INT_RGB, true, false, false,
+			RenderingHints.VALUE_RENDER_DEFAULT, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR,
+			RenderingHints.VALUE_COLOR_RENDER_DEFAULT, RenderingHints.VALUE_STROKE_DEFAULT),
+	HIGH_QUALITY(BufferedImage.TYPE_INT_RGB, true, true, true,
+			RenderingHints.VALUE_RENDER_QUALITY, RenderingHints.VALUE_INTERPOLATION_BICUBIC,
+			RenderingHints.VALUE_COLOR_RENDER_QUALITY, RenderingHints.VALUE_STROKE_PURE);
+
+	// Attributes
+	private final int imageType;
+	private final boolean antialiasing;
+	private final boolean fractionalMetrics;
+	private final boolean smoothResize;
+	private final Map<RenderingHints.Key, Object> hints;
+	private final FontRenderContext fontRenderContext;
+
+	// Constructor
+	RenderingProfile(int imageType, boolean antialiasing, boolean fractionalMetrics, boolean smoothResize,
+			Object rendering, Object interpolation, Object colorRendering, Object strokeControl) {
+		this.imageType = imageType;
+		this.antialiasing = antialiasing;
+		this.fractionalMetrics = fractionalMetrics;
+		this.smoothResize = smoothResize;
+
+		Object textAntialiasing = antialiasing ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF;
+		Object metrics = fractionalMetrics ? RenderingHints.VALUE_FRACTIONALMETRICS_ON : RenderingHints.VALUE_FRACTIONALMETRICS_OFF;
+		Map<RenderingHints.Key, Object> profileHints = new HashMap<>();
+		profileHints.put(RenderingHints.KEY_ANTIALIASING, antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+		profileHints.put(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+		profileHints.put(RenderingHints.KEY_FRACTIONALMETRICS, metrics);
+		profileHints.put(RenderingHints.KEY_RENDERING, rendering);
+		profileHints.put(RenderingHints.KEY_INTERPOLATION, interpolation);
+		profileHints.put(RenderingHints.KEY_COLOR_RENDERING, colorRendering);
+		profileHints.put(RenderingHints.KEY_STROKE_CONTROL, strokeControl);
+		this.hints = Collections.unmodifiableMap(profileHints);
+		this.fontRenderContext = new FontRenderContext(null, textAntialiasing, metrics);
+	}
+
+	// Public Methods
+	/**
+	 * procedure that set the hints of the profile in the graphics
+	 * @param graphics2d (Graphics2D) - the graphics to draw with
+	 */
+	public void applyTo(Graphics2D graphics2d) {
+		graphics2d.addRenderingHints(hints);
+	}
+
+	/**
+	 * @return int - type of the {@link BufferedImage} the profile draws in
+	 */
+	public int getImageType() {
+		return imageType;
+	}
+
+	/**
+	 * @return boolean - if the text, the shapes and the signature are antialiased
+	 */
+	public boolean isAntialiasing() {
+		return antialiasing;
+	}
+
+	/**
+	 * @return boolean - if the text is placed with fractional metrics
+	 */
+	public boolean isFractionalMetrics() {
+		return fractionalMetrics;
+	}
+
+	/**
+	 * @return boolean - if the signature is resized averaging the area of the pixels instead of sampling
+	 * the nearest one
+	 */
+	public boolean isSmoothResize() {
+		return smoothResize;
+	}
+
+	/**
+	 * @return Map - the rendering hints of the profile
+	 */
+	public Map<RenderingHints.Key, Object> getHints() {
+		return hints;
+	}
+
+	/**
+	 * @return FontRenderContext - the context the text is measured with, it matches the hints
+	 */
+	public FontRenderContext getFontRenderContext() {
+		return fontRenderContext;
+	}
+
+}
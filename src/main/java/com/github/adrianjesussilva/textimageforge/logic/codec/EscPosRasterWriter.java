@@ -0,0 +1,151 @@
+package com.github.adrianjesussilva.textimageforge.logic.codec;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writer of images as ESC/POS raster bit image commands (GS v 0), the format thermal printers print.
+ *
+ * Every band is one command with 8 dots per byte, the most significant bit first and 1 for a printed
+ * dot:
+ * <pre>
+ * GS 'v' '0' m | xL xH (bytes per row) | yL yH (rows) | rows
+ * </pre>
+ * Images drawn as {@link BufferedImage#TYPE_BYTE_BINARY} are already packed like that and their rows
+ * are copied, other images are printed where their luminance is darker than the middle gray. Only the
+ * raster is written, initializing, feeding and cutting the paper is left to the caller
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class EscPosRasterWriter {
+
+	// Constants
+	/** rows that most printers accept in one command */
+	public static final int MAX_BAND_HEIGHT = 2303;
+
+	private static final int HEADER_SIZE = 8;
+	private static final byte GS = 0x1D;
+	private static final byte NORMAL_MODE = 0;
+	private static final int THRESHOLD = 128;
+
+	// Attributes
+	private final int bandHeight;
+
+	// Constructor
+	/**
+	 * @param bandHeight (int) - rows of each command, 0 or less for the biggest bands the printers accept
+	 */
+	public EscPosRasterWriter(int bandHeight) {
+		this.bandHeight = bandHeight <= 0 ? MAX_BAND_HEIGHT : Math.min(bandHeight, MAX_BAND_HEIGHT);
+	}
+
+	// Private Methods
+	/**
+	 * function that give the bits to flip so a set bit is a printed dot, the palette index with more
+	 * luminance is the paper
+	 */
+	private static int inkMask(BufferedImage image) {
+		IndexColorModel palette = (IndexColorModel) image.getColorModel();
+		return luminance(palette.getRGB(0)) >= luminance(palette.getRGB(1)) ? 0x00 : 0xFF;
+	}
+
+	private static int luminance(int rgb) {
+		return (((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+	}
+
+	/**
+	 * procedure that pack the rows of the band from the packed binary raster
+	 */
+	private static void packBinary(byte[] data, int scanline, int firstRow, int rows, int bytesPerRow, int flip, int lastByteMask, byte[] band) {
+		for(int r = 0; r < rows; r++) {
+			int source = (firstRow + r) * scanline;
+			int target = HEADER_SIZE + r * bytesPerRow;
+			for(int b = 0; b < bytesPerRow; b++)
+				band[target + b] = (byte) (data[source + b] ^ flip);
+			band[target + bytesPerRow - 1] &= lastByteMask;
+		}
+	}
+
+	/**
+	 * procedure that pack the rows of the band thresholding the luminance of the pixels
+	 */
+	private static void packPixels(BufferedImage image, int[] pixels, int firstRow, int rows, int bytesPerRow, int[] row, byte[] band) {
+		int width = image.getWidth();
+		for(int r = 0; r < rows; r++) {
+			Rasters.readRow(image, pixels, firstRow + r, row);
+			int target = HEADER_SIZE + r * bytesPerRow;
+			for(int b = 0; b < bytesPerRow; b++)
+				band[target + b] = 0;
+			for(int x = 0; x < width; x++) {
+				int argb = row[x];
+				// transparent pixels are paper
+				int alpha = argb >>> 24;
+				int light = 255 - ((255 - luminance(argb)) * alpha) / 255;
+				if(light < THRESHOLD)
+					band[target + (x >> 3)] |= 0x80 >>> (x & 7);
+			}
+		}
+	}
+
+	// Public Methods
+	/**
+	 * procedure that write the image as raster commands of at most the band height rows
+	 * @param image (BufferedImage) - the image, as wide as the dots of the printer
+	 * @param output (OutputStream) - where to write the commands, it is not closed
+	 * @throws IOException - in case that the image is too wide or the stream fails
+	 */
+	public void write(BufferedImage image, OutputStream output) throws IOException {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int bytesPerRow = (width + 7) / 8;
+		if(bytesPerRow > 0xFFFF)
+			throw new IOException("The image is too wide for a raster command");
+
+		boolean binary = Rasters.isPackedBinary(image);
+		int flip = binary ? inkMask(image) : 0;
+		int lastByteMask = width % 8 == 0 ? 0xFF : (0xFF << (8 - width % 8)) & 0xFF;
+		byte[] data = binary ? ((DataBufferByte) image.getRaster().getDataBuffer()).getData() : null;
+		int scanline = binary ? ((MultiPixelPackedSampleModel) image.getSampleModel()).getScanlineStride() : 0;
+		int[] pixels = binary ? null : Rasters.intPixels(image);
+		int[] row = binary ? null : new int[width];
+
+		byte[] band = new byte[HEADER_SIZE + bytesPerRow * Math.min(bandHeight, Math.max(height, 1))];
+		band[0] = GS;
+		band[1] = 'v';
+		band[2] = '0';
+		band[3] = NORMAL_MODE;
+		band[4] = (byte) bytesPerRow;
+		band[5] = (byte) (bytesPerRow >> 8);
+		for(int firstRow = 0; firstRow < height; firstRow += bandHeight) {
+			int rows = Math.min(bandHeight, height - firstRow);
+			band[6] = (byte) rows;
+			band[7] = (byte) (rows >> 8);
+			if(binary)
+				packBinary(data, scanline, firstRow, rows, bytesPerRow, flip, lastByteMask, band);
+			else
+				packPixels(image, pixels, firstRow, rows, bytesPerRow, row, band);
+			output.write(band, 0, HEADER_SIZE + rows * bytesPerRow);
+		}
+	}
+
+	/**
+	 * function that give the bytes the commands of the image take
+	 * @param width (int) - width of the image
+	 * @param height (int) - height of the image
+	 * @return long - bytes of all the commands
+	 */
+	public long commandSize(int width, int height) {
+		long bands = (height + bandHeight - 1) / bandHeight;
+		return bands * HEADER_SIZE + (long) ((width + 7) / 8) * height;
+	}
+
+	public int getBandHeight() {
+		return bandHeight;
+	}
+
+}
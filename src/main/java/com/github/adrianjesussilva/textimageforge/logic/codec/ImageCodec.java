@@ -0,0 +1,60 @@
+package com.github.adrianjesussilva.textimageforge.logic.codec;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+
+/**
+ * Writer and reader of one of the {@link ImageEncoder} formats
+ * 
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public interface ImageCodec {
+
+	/**
+	 * procedure that encode the image into the stream, the stream is not closed
+	 * @param image (BufferedImage) - image to encode
+	 * @param output (OutputStream) - where to write the encoded image
+	 * @throws IOException - in case that can not encode the image
+	 */
+	void write(BufferedImage image, OutputStream output) throws IOException;
+	
+	/**
+	 * function that decode one image from the stream, the stream may be read past the end of the
+	 * image except by the raw codec, which reads exactly one frame
+	 * @param input (InputStream) - where to read the encoded image
+	 * @return BufferedImage - the decoded image
+	 * @throws IOException - in case that can not decode the image
+	 */
+	BufferedImage read(InputStream input) throws IOException;
+	
+	/**
+	 * function that estimate the biggest size of an encoded image, used to reserve the encode buffer
+	 * @param width (int) - width of the image
+	 * @param height (int) - height of the image
+	 * @param imageType (int) - type of the {@link BufferedImage}
+	 * @return long - estimated bytes of the encoded image
+	 */
+	long estimateSize(int width, int height, int imageType);
+	
+	/**
+	 * function that give the codec of the encoder
+	 * @param encoder {@link ImageEncoder} - the encoder
+	 * @return ImageCodec - the codec that writes the format
+	 */
+	static ImageCodec of(ImageEncoder encoder) {
+		switch (encoder) {
+			case qoi:
+				return QoiCodec.INSTANCE;
+			case raw:
+				return RawRasterCodec.INSTANCE;
+			default:
+				return new ImageIOCodec(encoder.name());
+		}
+	}
+	
+}
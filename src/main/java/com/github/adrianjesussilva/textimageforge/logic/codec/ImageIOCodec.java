@@ -0,0 +1,47 @@
+package com.github.adrianjesussilva.textimageforge.logic.codec;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Codec of the formats written by ImageIO (jpg and png)
+ * 
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class ImageIOCodec implements ImageCodec {
+
+	// Attributes
+	private final String formatName;
+	
+	// Constructor
+	public ImageIOCodec(String formatName) {
+		this.formatName = formatName;
+	}
+	
+	// Public Methods
+	@Override
+	public void write(BufferedImage image, OutputStream output) throws IOException {
+		if(!ImageIO.write(image, formatName, output))
+			throw new IOException("There is not a ImageIO writer for " + formatName);
+	}
+
+	@Override
+	public BufferedImage read(InputStream input) throws IOException {
+		BufferedImage image = ImageIO.read(input);
+		if(Objects.isNull(image))
+			throw new IOException("The stream is not a " + formatName + " image");
+		return image;
+	}
+
+	@Override
+	public long estimateSize(int width, int height, int imageType) {
+		return (long) width * height * (imageType == BufferedImage.TYPE_BYTE_GRAY ? 1 : 3);
+	}
+
+}
@@ -0,0 +1,213 @@
+package com.github.adrianjesussilva.textimageforge.logic.codec;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Codec of the QOI (Quite OK Image) format, written and read directly against the raster.
+ *
+ * The format is lossless and a single pass over the pixels, each pixel is written as a run of the
+ * previous one, a reference to a recently seen color or a small difference from the previous one, so
+ * the flat backgrounds and the few colors of a voucher encode several times faster than PNG.
+ * Specification at https://qoiformat.org/qoi-specification.pdf
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class QoiCodec implements ImageCodec {
+
+	// Constants
+	public static final QoiCodec INSTANCE = new QoiCodec();
+
+	private static final int MAGIC = 0x716F6966; // "qoif"
+	private static final int HEADER_SIZE = 14;
+	private static final byte[] END_MARKER = {0, 0, 0, 0, 0, 0, 0, 1};
+	private static final int OP_INDEX = 0x00;
+	private static final int OP_DIFF = 0x40;
+	private static final int OP_LUMA = 0x80;
+	private static final int OP_RUN = 0xC0;
+	private static final int OP_RGB = 0xFE;
+	private static final int OP_RGBA = 0xFF;
+	private static final int OP_MASK = 0xC0;
+	private static final int MAX_RUN = 62;
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_PIXELS = 400_000_000;
+
+	// Private Methods
+	private static int hash(int argb) {
+		return (((argb >> 16) & 0xFF) * 3 + ((argb >> 8) & 0xFF) * 5 + (argb & 0xFF) * 7 + ((argb >>> 24) * 11)) & 63;
+	}
+
+	private static void writeInt(byte[] buffer, int position, int value) {
+		buffer[position] = (byte) (value >>> 24);
+		buffer[position + 1] = (byte) (value >>> 16);
+		buffer[position + 2] = (byte) (value >>> 8);
+		buffer[position + 3] = (byte) value;
+	}
+
+	// Public Methods
+	@Override
+	public void write(BufferedImage image, OutputStream output) throws IOException {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		boolean alpha = image.getColorModel().hasAlpha();
+
+		byte[] buffer = new byte[BUFFER_SIZE];
+		writeInt(buffer, 0, MAGIC);
+		writeInt(buffer, 4, width);
+		writeInt(buffer, 8, height);
+		buffer[12] = (byte) (alpha ? 4 : 3);
+		buffer[13] = 0; // sRGB with linear alpha
+		int position = HEADER_SIZE;
+
+		int[] index = new int[64];
+		int[] pixels = Rasters.intPixels(image);
+		int[] row = new int[width];
+		int previous = 0xFF000000;
+		int run = 0;
+
+		for(int y = 0; y < height; y++) {
+			Rasters.readRow(image, pixels, y, row);
+			for(int x = 0; x < width; x++) {
+				int pixel = alpha ? row[x] : row[x] | 0xFF000000;
+
+				// the longest operation is 5 bytes plus a pending run
+				if(position > BUFFER_SIZE - 6) {
+					output.write(buffer, 0, position);
+					position = 0;
+				}
+
+				if(pixel == previous) {
+					if(++run == MAX_RUN) {
+						buffer[position++] = (byte) (OP_RUN | (run - 1));
+						run = 0;
+					}
+					continue;
+				}
+				if(run > 0) {
+					buffer[position++] = (byte) (OP_RUN | (run - 1));
+					run = 0;
+				}
+
+				int slot = hash(pixel);
+				if(index[slot] == pixel) {
+					buffer[position++] = (byte) (OP_INDEX | slot);
+				} else {
+					index[slot] = pixel;
+					if((pixel >>> 24) == (previous >>> 24)) {
+						int dr = (byte) ((pixel >> 16) - (previous >> 16));
+						int dg = (byte) ((pixel >> 8) - (previous >> 8));
+						int db = (byte) (pixel - previous);
+						int drdg = dr - dg;
+						int dbdg = db - dg;
+						if(dr >= -2 && dr <= 1 && dg >= -2 && dg <= 1 && db >= -2 && db <= 1) {
+							buffer[position++] = (byte) (OP_DIFF | (dr + 2) << 4 | (dg + 2) << 2 | (db + 2));
+						} else if(dg >= -32 && dg <= 31 && drdg >= -8 && drdg <= 7 && dbdg >= -8 && dbdg <= 7) {
+							buffer[position++] = (byte) (OP_LUMA | (dg + 32));
+							buffer[position++] = (byte) ((drdg + 8) << 4 | (dbdg + 8));
+						} else {
+							buffer[position++] = (byte) OP_RGB;
+							buffer[position++] = (byte) (pixel >> 16);
+							buffer[position++] = (byte) (pixel >> 8);
+							buffer[position++] = (byte) pixel;
+						}
+					} else {
+						buffer[position++] = (byte) OP_RGBA;
+						buffer[position++] = (byte) (pixel >> 16);
+						buffer[position++] = (byte) (pixel >> 8);
+						buffer[position++] = (byte) pixel;
+						buffer[position++] = (byte) (pixel >>> 24);
+					}
+				}
+				previous = pixel;
+			}
+		}
+		if(run > 0)
+			buffer[position++] = (byte) (OP_RUN | (run - 1));
+
+		output.write(buffer, 0, position);
+		output.write(END_MARKER);
+	}
+
+	@Override
+	public BufferedImage read(InputStream input) throws IOException {
+		DataInputStream data = new DataInputStream(input);
+		if(data.readInt() != MAGIC)
+			throw new IOException("The stream is not a qoi image");
+		int width = data.readInt();
+		int height = data.readInt();
+		int channels = data.readUnsignedByte();
+		data.readUnsignedByte();
+		if(width <= 0 || height <= 0 || (long) width * height > MAX_PIXELS || (channels != 3 && channels != 4))
+			throw new IOException("Invalid qoi header " + width + "x" + height + " with " + channels + " channels");
+
+		BufferedImage image = new BufferedImage(width, height, channels == 4 ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		int[] index = new int[64];
+		int pixel = 0xFF000000;
+
+		// read the chunks in blocks, a valid image always has the end marker after the last chunk
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int position = 0;
+		int limit = 0;
+		int total = pixels.length;
+		int i = 0;
+		while(i < total) {
+			// ensure the longest chunk (5 bytes) is available
+			if(limit - position < 5) {
+				System.arraycopy(buffer, position, buffer, 0, limit - position);
+				limit -= position;
+				position = 0;
+				int read;
+				while(limit < 5 && (read = input.read(buffer, limit, buffer.length - limit)) > 0)
+					limit += read;
+				if(limit < 5)
+					throw new EOFException("The qoi image is truncated");
+			}
+
+			int op = buffer[position++] & 0xFF;
+			if(op == OP_RGB) {
+				pixel = (pixel & 0xFF000000) | (buffer[position] & 0xFF) << 16 | (buffer[position + 1] & 0xFF) << 8 | (buffer[position + 2] & 0xFF);
+				position += 3;
+			} else if(op == OP_RGBA) {
+				pixel = (buffer[position + 3] & 0xFF) << 24 | (buffer[position] & 0xFF) << 16 | (buffer[position + 1] & 0xFF) << 8 | (buffer[position + 2] & 0xFF);
+				position += 4;
+			} else if((op & OP_MASK) == OP_INDEX) {
+				pixel = index[op];
+			} else if((op & OP_MASK) == OP_DIFF) {
+				int r = ((pixel >> 16) + ((op >> 4) & 3) - 2) & 0xFF;
+				int g = ((pixel >> 8) + ((op >> 2) & 3) - 2) & 0xFF;
+				int b = (pixel + (op & 3) - 2) & 0xFF;
+				pixel = (pixel & 0xFF000000) | r << 16 | g << 8 | b;
+			} else if((op & OP_MASK) == OP_LUMA) {
+				int second = buffer[position++] & 0xFF;
+				int dg = (op & 0x3F) - 32;
+				int r = ((pixel >> 16) + dg - 8 + ((second >> 4) & 0x0F)) & 0xFF;
+				int g = ((pixel >> 8) + dg) & 0xFF;
+				int b = (pixel + dg - 8 + (second & 0x0F)) & 0xFF;
+				pixel = (pixel & 0xFF000000) | r << 16 | g << 8 | b;
+			} else {
+				int run = Math.min((op & 0x3F) + 1, total - i);
+				Arrays.fill(pixels, i, i + run, pixel);
+				i += run;
+				continue;
+			}
+			index[hash(pixel)] = pixel;
+			pixels[i++] = pixel;
+		}
+		return image;
+	}
+
+	@Override
+	public long estimateSize(int width, int height, int imageType) {
+		// a pixel that can not be compressed takes 4 bytes (5 with alpha)
+		return HEADER_SIZE + END_MARKER.length + (long) width * height * 5;
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.github.adrianjesussilva.textimageforge.logic.codec;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Row access to the pixels of the images written and read by the raster codecs
+ * 
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+final class Rasters {
+
+	private Rasters() {
+	}
+	
+	/**
+	 * function that give the backing pixels of int images, so the rows can be copied without
+	 * the color model conversion of getRGB
+	 * @param image (BufferedImage) - the image
+	 * @return int[] - the pixels or null if the image is not a plain int raster
+	 */
+	static int[] intPixels(BufferedImage image) {
+		WritableRaster raster = image.getRaster();
+		if((image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)
+				&& raster.getDataBuffer() instanceof DataBufferInt && raster.getDataBuffer().getNumBanks() == 1
+				&& raster.getParent() == null)
+			return ((DataBufferInt) raster.getDataBuffer()).getData();
+		return null;
+	}
+	
+	/**
+	 * function that tell if the image is a packed raster of one bit per pixel without offsets, as the
+	 * bilevel renders
+	 * @param image (BufferedImage) - the image
+	 * @return boolean - if the rows can be unpacked from the bytes of the raster
+	 */
+	static boolean isPackedBinary(BufferedImage image) {
+		return image.getType() == BufferedImage.TYPE_BYTE_BINARY
+				&& image.getSampleModel() instanceof MultiPixelPackedSampleModel
+				&& image.getSampleModel().getSampleSize(0) == 1
+				&& image.getRaster().getDataBuffer() instanceof DataBufferByte
+				&& image.getRaster().getParent() == null;
+	}
+	
+	/**
+	 * procedure that unpack a row of a packed binary image with the two colors of its palette
+	 */
+	private static void readBinaryRow(BufferedImage image, int y, int[] row) {
+		IndexColorModel palette = (IndexColorModel) image.getColorModel();
+		int zero = palette.getRGB(0);
+		int one = palette.getRGB(1);
+		byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+		int offset = y * ((MultiPixelPackedSampleModel) image.getSampleModel()).getScanlineStride();
+		for(int x = 0; x < image.getWidth(); x++)
+			row[x] = (data[offset + (x >> 3)] & (0x80 >>> (x & 7))) == 0 ? zero : one;
+	}
+	
+	/**
+	 * procedure that copy a row of the image as argb pixels
+	 * @param image (BufferedImage) - the image
+	 * @param pixels (int[]) - backing pixels from {@link #intPixels}, null to use getRGB
+	 * @param y (int) - the row
+	 * @param row (int[]) - where to copy the row
+	 */
+	static void readRow(BufferedImage image, int[] pixels, int y, int[] row) {
+		int width = image.getWidth();
+		if(pixels == null) {
+			if(isPackedBinary(image))
+				readBinaryRow(image, y, row);
+			else
+				image.getRGB(0, y, width, 1, row, 0, width);
+			return;
+		}
+		System.arraycopy(pixels, y * width, row, 0, width);
+		// int rgb rasters do not define the alpha bits
+		if(image.getType() == BufferedImage.TYPE_INT_RGB)
+			for(int x = 0; x < width; x++)
+				row[x] |= 0xFF000000;
+	}
+	
+}
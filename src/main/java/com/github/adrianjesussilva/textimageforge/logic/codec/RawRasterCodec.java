@@ -0,0 +1,140 @@
+package com.github.adrianjesussilva.textimageforge.logic.codec;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codec of the raw framed format, the uncompressed pixels behind a small header.
+ *
+ * Every frame is self delimited, so several images can be sent one after another over the same
+ * stream and the reader consumes exactly one frame:
+ * <pre>
+ * magic "TIFR" | version (1 byte) | pixel format (1 byte) | width (int) | height (int) | payload length (int) | payload
+ * </pre>
+ * The pixel format is the bytes per pixel, 1 for gray, 3 for rgb and 4 for argb, row by row
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class RawRasterCodec implements ImageCodec {
+
+	// Constants
+	public static final RawRasterCodec INSTANCE = new RawRasterCodec();
+
+	private static final int MAGIC = 0x54494652; // "TIFR"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 18;
+	private static final int GRAY = 1;
+	private static final int RGB = 3;
+	private static final int ARGB = 4;
+
+	// Private Methods
+	private static int formatOf(BufferedImage image) {
+		if(image.getType() == BufferedImage.TYPE_BYTE_GRAY)
+			return GRAY;
+		return image.getColorModel().hasAlpha() ? ARGB : RGB;
+	}
+
+	private static void writeInt(byte[] buffer, int position, int value) {
+		buffer[position] = (byte) (value >>> 24);
+		buffer[position + 1] = (byte) (value >>> 16);
+		buffer[position + 2] = (byte) (value >>> 8);
+		buffer[position + 3] = (byte) value;
+	}
+
+	// Public Methods
+	@Override
+	public void write(BufferedImage image, OutputStream output) throws IOException {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int format = formatOf(image);
+		long payload = (long) width * height * format;
+		if(payload > Integer.MAX_VALUE)
+			throw new IOException("The image is too big for a raw frame");
+
+		byte[] header = new byte[HEADER_SIZE];
+		writeInt(header, 0, MAGIC);
+		header[4] = VERSION;
+		header[5] = (byte) format;
+		writeInt(header, 6, width);
+		writeInt(header, 10, height);
+		writeInt(header, 14, (int) payload);
+		output.write(header);
+
+		if(format == GRAY && image.getRaster().getDataBuffer() instanceof DataBufferByte
+				&& image.getRaster().getParent() == null) {
+			// the gray raster is already the payload
+			output.write(((DataBufferByte) image.getRaster().getDataBuffer()).getData(), 0, (int) payload);
+			return;
+		}
+
+		int[] pixels = Rasters.intPixels(image);
+		int[] row = new int[width];
+		byte[] line = new byte[width * format];
+		for(int y = 0; y < height; y++) {
+			if(format == GRAY) {
+				image.getRaster().getDataElements(0, y, width, 1, line);
+			} else {
+				Rasters.readRow(image, pixels, y, row);
+				int position = 0;
+				for(int x = 0; x < width; x++) {
+					int pixel = row[x];
+					if(format == ARGB)
+						line[position++] = (byte) (pixel >>> 24);
+					line[position++] = (byte) (pixel >> 16);
+					line[position++] = (byte) (pixel >> 8);
+					line[position++] = (byte) pixel;
+				}
+			}
+			output.write(line);
+		}
+	}
+
+	@Override
+	public BufferedImage read(InputStream input) throws IOException {
+		DataInputStream data = new DataInputStream(input);
+		if(data.readInt() != MAGIC)
+			throw new IOException("The stream is not a raw frame");
+		int version = data.readUnsignedByte();
+		int format = data.readUnsignedByte();
+		int width = data.readInt();
+		int height = data.readInt();
+		int payload = data.readInt();
+		if(version != VERSION)
+			throw new IOException("Unsupported raw frame version " + version);
+		if((format != GRAY && format != RGB && format != ARGB) || width <= 0 || height <= 0
+				|| (long) width * height * format != payload)
+			throw new IOException("Invalid raw frame header " + width + "x" + height + " format " + format + " payload " + payload);
+
+		if(format == GRAY) {
+			BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+			data.readFully(((DataBufferByte) image.getRaster().getDataBuffer()).getData(), 0, payload);
+			return image;
+		}
+
+		BufferedImage image = new BufferedImage(width, height, format == ARGB ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		byte[] line = new byte[width * format];
+		for(int y = 0; y < height; y++) {
+			data.readFully(line);
+			int position = 0;
+			for(int x = 0; x < width; x++) {
+				int alpha = format == ARGB ? (line[position++] & 0xFF) << 24 : 0xFF000000;
+				pixels[y * width + x] = alpha | (line[position] & 0xFF) << 16 | (line[position + 1] & 0xFF) << 8 | (line[position + 2] & 0xFF);
+				position += 3;
+			}
+		}
+		return image;
+	}
+
+	@Override
+	public long estimateSize(int width, int height, int imageType) {
+		return HEADER_SIZE + (long) width * height * (imageType == BufferedImage.TYPE_BYTE_GRAY ? GRAY : ARGB);
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.github.adrianjesussilva.textimageforge.logic.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception for renders rejected by the memory budget, it extends {@link IOException} as the rest of
+ * the failures to produce the image
+ * 
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class MemoryBudgetExceededException extends IOException {
+
+	private static final long serialVersionUID = -3418263305791154372L;
+
+	public MemoryBudgetExceededException() {
+		
+	}
+
+
+	public MemoryBudgetExceededException(String message) {
+		super(message);
+	}
+
+
+	public MemoryBudgetExceededException(Throwable cause) {
+		super(cause);
+	}
+
+
+	public MemoryBudgetExceededException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.github.adrianjesussilva.textimageforge.logic.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.MultiPixelPackedSampleModel;
+
+import com.github.adrianjesussilva.textimageforge.logic.kernel.PixelKernels;
+
+/**
+ * Conversion of the renders to one bit per pixel.
+ *
+ * Java2D has no fast loops to draw text in {@link BufferedImage#TYPE_BYTE_BINARY} images, so the
+ * bilevel renders are drawn in gray without antialiasing and packed afterwards, the pixels darker than
+ * the threshold are black
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public final class BilevelConverter {
+
+	// Constants
+	public static final int DEFAULT_THRESHOLD = 128;
+
+	// Constructor
+	private BilevelConverter() {
+	}
+
+	// Private Methods
+	/**
+	 * function that tell if the pixels of the image are a single plain array of the given buffer type
+	 */
+	private static boolean isPlain(BufferedImage image, int type, Class<?> dataBuffer) {
+		return image.getType() == type && dataBuffer.isInstance(image.getRaster().getDataBuffer())
+				&& image.getRaster().getDataBuffer().getNumBanks() == 1 && image.getRaster().getParent() == null;
+	}
+
+	// Public Methods
+	/**
+	 * function that pack the image into a black and white image
+	 * @param image (BufferedImage) - the image, gray and int rgb images are read straight from their raster
+	 * @param threshold (int) - gray level from which a pixel is white
+	 * @return BufferedImage - the {@link BufferedImage#TYPE_BYTE_BINARY} image, black is 0 and white is 1
+	 */
+	public static BufferedImage convert(BufferedImage image, int threshold) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		BufferedImage bilevel = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+		byte[] packed = ((DataBufferByte) bilevel.getRaster().getDataBuffer()).getData();
+		int scanline = ((MultiPixelPackedSampleModel) bilevel.getSampleModel()).getScanlineStride();
+		PixelKernels kernels = PixelKernels.selected();
+
+		if(isPlain(image, BufferedImage.TYPE_BYTE_GRAY, DataBufferByte.class)) {
+			byte[] gray = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+			for(int y = 0; y < height; y++)
+				kernels.threshold(gray, y * width, packed, y * scanline, width, threshold);
+			return bilevel;
+		}
+
+		// other images go through a gray row
+		boolean rgb = isPlain(image, BufferedImage.TYPE_INT_RGB, DataBufferInt.class) || isPlain(image, BufferedImage.TYPE_INT_ARGB, DataBufferInt.class);
+		int[] pixels = rgb ? ((DataBufferInt) image.getRaster().getDataBuffer()).getData() : new int[width];
+		byte[] gray = new byte[width];
+		for(int y = 0; y < height; y++) {
+			if(!rgb)
+				image.getRGB(0, y, width, 1, pixels, 0, width);
+			kernels.luminance(pixels, rgb ? y * width : 0, gray, 0, width);
+			kernels.threshold(gray, 0, packed, y * scanline, width, threshold);
+		}
+		return bilevel;
+	}
+
+}
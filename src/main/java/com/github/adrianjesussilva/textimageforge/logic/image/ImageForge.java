@@ -2,28 +2,43 @@ package com.github.adrianjesussilva.textimageforge.logic.image;
 
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.font.FontRenderContext;
-import java.awt.font.LineMetrics;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Base64OutputStream;
+import org.apache.commons.codec.digest.DigestUtils;
 
+import com.github.adrianjesussilva.textimageforge.enumerator.AdmissionPolicy;
 import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.PrinterPaper;
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
 import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.codec.EscPosRasterWriter;
+import com.github.adrianjesussilva.textimageforge.logic.codec.ImageCodec;
 import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.raster.Java2DRasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.raster.RasterCanvas;
+import com.github.adrianjesussilva.textimageforge.logic.raster.Rasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.text.FontRegistry;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextDocument;
 import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
 
 import lombok.Builder;
@@ -44,6 +59,32 @@ public class ImageForge {
 	private static final int DEFAULT_HEIGHT = 70;
 	private static final int DEFAULT_MARGIN = 15;
 	private static final int DEFAULT_LINE_SPACING = 2;
+	private static final int SIGNATURE_CACHE_SIZE = 64;
+	private static final int RESIZED_SIGNATURE_CACHE_SIZE = 64;
+	private static final int RGB_PIXEL_BYTES = 4;
+	private static final int GRAY_PIXEL_BYTES = 1;
+
+	// Signatures already converted to masks, shared by all the forges
+	private static final Map<String, SignatureMask> SIGNATURE_CACHE = Collections.synchronizedMap(
+			new LinkedHashMap<String, SignatureMask>(SIGNATURE_CACHE_SIZE, 0.75f, true) {
+				private static final long serialVersionUID = 2875530349472127794L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, SignatureMask> eldest) {
+					return size() > SIGNATURE_CACHE_SIZE;
+				}
+			});
+
+	// Signatures already scaled to the safe zone of a width, shared by all the forges
+	private static final Map<String, SignatureMask> RESIZED_SIGNATURE_CACHE = Collections.synchronizedMap(
+			new LinkedHashMap<String, SignatureMask>(RESIZED_SIGNATURE_CACHE_SIZE, 0.75f, true) {
+				private static final long serialVersionUID = -6418840277133052916L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, SignatureMask> eldest) {
+					return size() > RESIZED_SIGNATURE_CACHE_SIZE;
+				}
+			});
 
 	// Attributes
 	private Integer width;
@@ -58,11 +99,37 @@ public class ImageForge {
 	private Color background;
 	private Integer signatureWidth;
 	private Integer signatureHeight;
+	private Boolean signatureAntialiasing;
+	private RenderMemoryBudget memoryBudget;
+	private AdmissionPolicy admissionPolicy;
+	private Rasterizer rasterizer;
+	private RenderingProfile renderingProfile;
 	
 	private List<TextForge> lines;	
+	private TextDocument document;
 	
 	
 	// Private Methods
+	/**
+	 * function that give the document with all the lines, the lines given to the builder are moved to it
+	 * @return {@link TextDocument} - the lines of the image
+	 * @throws IllegalArgumentException - in case that a line given to the builder has no align, font or color
+	 */
+	private TextDocument document() {
+		if(Objects.isNull(document))
+			document = new TextDocument();
+		if(Objects.nonNull(lines)) {
+			// validated all together, the builder can not throw the checked exception of addLine
+			try {
+				document.addAll(TextDocument.of(lines));
+			} catch (InvalidTextForgeConfigException e) {
+				throw new IllegalArgumentException("Invalid line given to the builder: " + e.getMessage(), e);
+			}
+			lines = null;
+		}
+		return document;
+	}
+	
 	/**
 	 * Procedure that checks the given values and correct then if need it 
 	 */
@@ -92,29 +159,36 @@ public class ImageForge {
 	}
 	
 	/**
-	 * function that draw in the buffered image the given text lines configured 
-	 * @return {@link BufferedImage} - the rendered image with the given text
+	 * function that give the profile of a render, the one given to the forge or else the default of the
+	 * output, it is not stored so each output keeps its own default
+	 * @param defaultProfile {@link RenderingProfile} - profile of the output when the forge has none
+	 * @return {@link RenderingProfile} - the profile to render with
+	 */
+	private RenderingProfile profile(RenderingProfile defaultProfile) {
+		return Objects.isNull(renderingProfile) ? defaultProfile : renderingProfile;
+	}
+	
+	/**
+	 * procedure that calculate the size of the image and of each line with the given configuration,
+	 * nothing is allocated for the image yet
+	 * @param profile {@link RenderingProfile} - profile of the render
 	 */
-	private BufferedImage getBufferedImage() {
+	private void layout(RenderingProfile profile) {
 		// set default values if any missing 
 		setDefaultsValues();
 		
 		// Pre calculate the image size with given text if apply
-		BufferedImage bufferedImage = new BufferedImage(DEFAULT_WIDTH, DEFAULT_HEIGHT, BufferedImage.TYPE_INT_RGB);
-		Graphics2D graphics2d = bufferedImage.createGraphics();
-		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		FontRenderContext fontRenderContext = graphics2d.getFontRenderContext();
+		FontRenderContext fontRenderContext = profile.getFontRenderContext();
 		if(dynamicHeight)
 			height = superiorMargin + inferiorMargin;
-		for(TextForge line : lines) {
-			LineMetrics metrics = line.getFont().getLineMetrics(line.getText(), fontRenderContext);
-			float lineWidth = (float) line.getFont().getStringBounds(line.getText(), fontRenderContext).getWidth();
-			line.setWidth((int) Math.ceil(lineWidth));
+		TextDocument document = document();
+		document.measure(fontRenderContext);
+		for(int i = 0; i < document.size(); i++) {
+			int lineWidth = document.getWidth(i);
 			if(dynamicWitdh && (lineWidth + leftMargin + rightMargin) > width)
-				width = (int) Math.ceil(lineWidth + leftMargin + rightMargin);
-			line.setHeight((int) Math.ceil(metrics.getHeight()));
+				width = lineWidth + leftMargin + rightMargin;
 			if(dynamicHeight)
-				height += (int) Math.ceil(metrics.getHeight());
+				height += document.getHeight(i);
 		}
 		
 		if(signatureWidth != null && signatureHeight!=null) {
@@ -128,63 +202,271 @@ public class ImageForge {
 				height +=  (int)(signatureHeight) + 40;
 			}
 		}
-			
-		
-		// prepare the elements to draw
-		bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-		graphics2d = bufferedImage.createGraphics();
-		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		graphics2d.setBackground(background);
-		graphics2d.setColor(background);
-		graphics2d.fillRect(0, 0, width, height);
+	}
+	
+	/**
+	 * function that draw in the buffered image the given text lines configured, the layout must be
+	 * already calculated
+	 * @param imageType (int) - type of the {@link BufferedImage} to draw in
+	 * @param profile {@link RenderingProfile} - profile of the render
+	 * @return {@link BufferedImage} - the rendered image with the given text
+	 */
+	private BufferedImage getBufferedImage(int imageType, RenderingProfile profile) {
+		// prepare the canvas of the rasterizer
+		RasterCanvas canvas = (Objects.isNull(rasterizer) ? Java2DRasterizer.INSTANCE : rasterizer).createCanvas(width, height, imageType, background, profile);
 		
 		// set coordinates of the text with the given configuration
+		TextDocument document = document();
 		int lastY = superiorMargin;
-		for(TextForge line : lines ) {
+		for(int i = 0; i < document.size(); i++) {
 			// set x coordinate base on the aling 
-			switch (line.getTextAlign()) {
+			int xAxis = leftMargin;
+			switch (document.getTextAlign(i)) {
 				case LEFT:
-					line.setXAxis(leftMargin);
+					xAxis = leftMargin;
 					break;
 				case CENTER:
-					line.setXAxis((width - line.getWidth())/2);
+					xAxis = (width - document.getWidth(i))/2;
 					break;
 				case RIGHT:
-					line.setXAxis(width - rightMargin - line.getWidth());
+					xAxis = width - rightMargin - document.getWidth(i);
 			}
 			
 			// set y coordinate
-			line.setYAxis(lastY);
-			lastY += lineSpacing + line.getHeight();
+			document.setPosition(i, xAxis, lastY);
+			lastY += lineSpacing + document.getHeight(i);
 			
 			// draw the text
-			graphics2d.setPaint(line.getColor());
-			graphics2d.setFont(line.getFont());
-			graphics2d.drawString(line.getText(), line.getXAxis(), line.getYAxis());
+			canvas.drawText(document.getText(i), xAxis, document.getYAxis(i), document.getStyle(i));
 		}
-		graphics2d.dispose();
 		
 		// return the image
-		return bufferedImage;
+		return canvas.finish();
 	}
 	
 	/**
-	 * Method that renders given signature in buffered image
-	 * @return {@link BufferedImage} - the rendered image with the given signature
+	 * function that estimate the bytes the render will allocate, the layout must be already calculated
+	 * @param imageType (int) - type of the {@link BufferedImage} to draw in
+	 * @param encoder {@link ImageEncoder} - encoder of the output, null when the image is not encoded
+	 * @param decodeSignature (boolean) - if the signature has to be decoded (it is not cached)
+	 * @return long - estimated bytes of raster, signature and encode buffer
 	 */
-	private BufferedImage readSignature(String signature) throws InvalidTextForgeConfigException {
-		//Decode B64 signature
-		byte[] byteArray = Base64.decodeBase64(signature);
-		ByteArrayInputStream bais = new ByteArrayInputStream(byteArray);
-		try {
-			//Read signature into Image
-			BufferedImage signatureImg = ImageIO.read(bais);
-			signatureWidth = signatureImg.getWidth();
-			signatureHeight = signatureImg.getHeight();
-			return signatureImg;
+	private long estimateMemory(int imageType, ImageEncoder encoder, boolean decodeSignature) {
+		long bytes;
+		// bilevel renders are drawn in gray and packed afterwards
+		if(imageType == BufferedImage.TYPE_BYTE_BINARY)
+			bytes = (long) ((width + 7) / 8) * height + (long) width * height * GRAY_PIXEL_BYTES;
+		else
+			bytes = (long) width * height * (imageType == BufferedImage.TYPE_BYTE_GRAY ? GRAY_PIXEL_BYTES : RGB_PIXEL_BYTES);
+		
+		if(signatureWidth != null && signatureHeight != null) {
+			long signaturePixels = (long) signatureWidth * signatureHeight;
+			// decoded argb image plus the coverage grid of the mask
+			if(decodeSignature)
+				bytes += signaturePixels * 2 * RGB_PIXEL_BYTES;
+			// coverage grids used to resize the mask
+			bytes += signaturePixels * 2 * RGB_PIXEL_BYTES;
+		}
+		
+		// encode buffer, sized as the worst case of the encoder
+		if(Objects.nonNull(encoder))
+			bytes += ImageCodec.of(encoder).estimateSize(width, height, imageType);
+		return bytes;
+	}
+	
+	/**
+	 * function that lease from the memory budget the estimated bytes of the render, degrading a color
+	 * render to gray scale when the policy allows it. The admission policy of the forge, when given, is
+	 * used instead of the one of the budget
+	 * @param imageType (int) - type of the {@link BufferedImage} to draw in
+	 * @param encoder {@link ImageEncoder} - encoder of the output, null when the image is not encoded
+	 * @param decodeSignature (boolean) - if the signature has to be decoded (it is not cached)
+	 * @return Admission - the lease and the image type to draw in
+	 * @throws IOException - when the budget rejects the render or the wait is interrupted
+	 */
+	private Admission admit(int imageType, ImageEncoder encoder, boolean decodeSignature) throws IOException {
+		RenderMemoryBudget budget = Objects.isNull(memoryBudget) ? RenderMemoryBudget.global() : memoryBudget;
+		AdmissionPolicy policy = Objects.isNull(admissionPolicy) ? budget.getPolicy() : admissionPolicy;
+		long bytes = estimateMemory(imageType, encoder, decodeSignature);
+		if(policy != AdmissionPolicy.DEGRADE || imageType != BufferedImage.TYPE_INT_RGB)
+			return new Admission(budget.acquire(bytes, policy), imageType);
+		
+		RenderMemoryBudget.Lease lease = budget.tryAcquire(bytes);
+		if(Objects.nonNull(lease))
+			return new Admission(lease, imageType);
+		bytes = estimateMemory(BufferedImage.TYPE_BYTE_GRAY, encoder, decodeSignature);
+		return new Admission(budget.acquire(bytes, policy), BufferedImage.TYPE_BYTE_GRAY);
+	}
+	
+	/**
+	 * function that render the image with the given signature, the layout must be already calculated
+	 * @param imageType (int) - type of the {@link BufferedImage} to draw in
+	 * @param profile {@link RenderingProfile} - profile of the render
+	 * @param signature (String) - the base 64 signature, null for none
+	 * @param signatureMask {@link SignatureMask} - the signature if it was cached, null to decode it
+	 * @return {@link BufferedImage} - the rendered image
+	 */
+	private BufferedImage render(int imageType, RenderingProfile profile, String signature, SignatureMask signatureMask) throws InvalidTextForgeConfigException {
+		if(signature == null)
+			return pack(getBufferedImage(drawType(imageType), profile), imageType);
+		
+		ImageOverlay overlay = new ImageOverlay();
+		if(Objects.isNull(signatureMask))
+			signatureMask = readSignature(signature, profile);
+
+		BufferedImage voucher = getBufferedImage(drawType(imageType), profile);
+		
+		//Avoid oversizing small images that don't requiere a strech
+		double safeZoneWidth = (this.width-(leftMargin + rightMargin))*0.5;
+		
+		if ((int) safeZoneWidth <= signatureMask.getWidth()) {
+			signatureMask = resizeSignature(signature, profile, signatureMask, (int) (safeZoneWidth), (int)(safeZoneWidth*signatureMask.getHeight())/signatureMask.getWidth());
+		}
+		
+		this.height = this.height + signatureMask.getHeight();
+		
+		return pack(overlay.overlaySignature(voucher, signatureMask, height -(2*signatureMask.getHeight())), imageType);
+	}
+	
+	/**
+	 * procedure that checks that every line fits between the margins of the paper, the printer would
+	 * cut the dots out of the paper, the layout must be already calculated
+	 * @param paper {@link PrinterPaper} - the paper of the printer
+	 * @throws InvalidTextForgeConfigException - in case that a line is wider than the paper
+	 */
+	private void checkPaper(PrinterPaper paper) throws InvalidTextForgeConfigException {
+		TextDocument document = document();
+		for(int i = 0; i < document.size(); i++) {
+			int lineWidth = document.getWidth(i) + leftMargin + rightMargin;
+			if(lineWidth > paper.getDots())
+				throw new InvalidTextForgeConfigException("the line " + (i + 1) + " needs " + lineWidth + " dots with its margins and the paper "
+						+ paper + " has " + paper.getDots());
+		}
+	}
+	
+	/**
+	 * function that give the type to draw in, java2d has no fast loops for text in packed binary images
+	 * so they are drawn in gray
+	 * @param imageType (int) - type of the rendered {@link BufferedImage}
+	 * @return int - type of the {@link BufferedImage} to draw in
+	 */
+	private static int drawType(int imageType) {
+		return imageType == BufferedImage.TYPE_BYTE_BINARY ? BufferedImage.TYPE_BYTE_GRAY : imageType;
+	}
+	
+	/**
+	 * function that pack the drawn image into the rendered type when they differ
+	 * @param voucher {@link BufferedImage} - the drawn image
+	 * @param imageType (int) - type of the rendered {@link BufferedImage}
+	 * @return {@link BufferedImage} - the rendered image
+	 */
+	private static BufferedImage pack(BufferedImage voucher, int imageType) {
+		if(voucher.getType() == imageType)
+			return voucher;
+		return BilevelConverter.convert(voucher, BilevelConverter.DEFAULT_THRESHOLD);
+	}
+	
+	/**
+	 * function that tell if the signature keeps its antialiased edges, by default as the profile does
+	 * @param profile {@link RenderingProfile} - profile of the render
+	 * @return boolean - if the edges of the signature are kept
+	 */
+	private boolean isSignatureAntialiased(RenderingProfile profile) {
+		if(Objects.nonNull(signatureAntialiasing))
+			return signatureAntialiasing;
+		return profile.isAntialiasing();
+	}
+	
+	private String signatureKey(String signature, RenderingProfile profile) {
+		return DigestUtils.md5Hex(signature) + (isSignatureAntialiased(profile) ? ":aa" : ":bw");
+	}
+	
+	/**
+	 * function that scale the mask of the signature to the given size, the scaled masks are cached so each
+	 * signature is scaled only once for every size
+	 * @param signature (String) - the base 64 signature
+	 * @param profile {@link RenderingProfile} - profile of the render
+	 * @param signatureMask {@link SignatureMask} - the mask of the signature
+	 * @param width (int) - target width
+	 * @param height (int) - target height
+	 * @return {@link SignatureMask} - the resized mask
+	 */
+	private SignatureMask resizeSignature(String signature, RenderingProfile profile, SignatureMask signatureMask, int width, int height) {
+		boolean smooth = profile.isSmoothResize();
+		String key = signatureKey(signature, profile) + ":" + width + "x" + height + (smooth ? ":smooth" : ":nearest");
+		SignatureMask resized = RESIZED_SIGNATURE_CACHE.get(key);
+		if(Objects.isNull(resized)) {
+			// scaled out of the lock, a thread that loses the race uses the mask of the winner
+			resized = signatureMask.resize(width, height, smooth);
+			SignatureMask previous = RESIZED_SIGNATURE_CACHE.putIfAbsent(key, resized);
+			if(Objects.nonNull(previous))
+				resized = previous;
+		}
+		return resized;
+	}
+	
+	/**
+	 * function that read the size of the given signature without decoding its pixels
+	 * @param signature (String) - the base 64 signature, null for none
+	 * @param profile {@link RenderingProfile} - profile of the render
+	 * @return {@link SignatureMask} - the mask if it is already cached, null when it has to be decoded
+	 * @throws InvalidTextForgeConfigException - when the signature can not be read
+	 */
+	private SignatureMask peekSignature(String signature, RenderingProfile profile) throws InvalidTextForgeConfigException {
+		if(signature == null)
+			return null;
+		SignatureMask signatureMask = SIGNATURE_CACHE.get(signatureKey(signature, profile));
+		if(Objects.nonNull(signatureMask)) {
+			signatureWidth = signatureMask.getWidth();
+			signatureHeight = signatureMask.getHeight();
+			return signatureMask;
+		}
+		
+		try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(Base64.decodeBase64(signature)))) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if(!readers.hasNext())
+				throw new InvalidTextForgeConfigException("The given signature could not be read");
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input);
+				signatureWidth = reader.getWidth(0);
+				signatureHeight = reader.getHeight(0);
+			} finally {
+				reader.dispose();
+			}
 		} catch (IOException e) {
 			throw new InvalidTextForgeConfigException("The given signature could not be read");
 		}
+		return null;
+	}
+	
+	/**
+	 * Method that converts the given signature into a mask, the masks are cached so each signature
+	 * is decoded only once
+	 * @return {@link SignatureMask} - the mask with the ink of the given signature
+	 */
+	private SignatureMask readSignature(String signature, RenderingProfile profile) throws InvalidTextForgeConfigException {
+		boolean antialiased = isSignatureAntialiased(profile);
+		String key = signatureKey(signature, profile);
+		SignatureMask signatureMask = SIGNATURE_CACHE.get(key);
+		if(Objects.isNull(signatureMask)) {
+			//Decode B64 signature
+			byte[] byteArray = Base64.decodeBase64(signature);
+			ByteArrayInputStream bais = new ByteArrayInputStream(byteArray);
+			try {
+				//Read signature into Image
+				BufferedImage signatureImg = ImageIO.read(bais);
+				if(Objects.isNull(signatureImg))
+					throw new InvalidTextForgeConfigException("The given signature could not be read");
+				signatureMask = SignatureMask.of(signatureImg, antialiased);
+				SIGNATURE_CACHE.put(key, signatureMask);
+			} catch (IOException e) {
+				throw new InvalidTextForgeConfigException("The given signature could not be read");
+			}
+		}
+		signatureWidth = signatureMask.getWidth();
+		signatureHeight = signatureMask.getHeight();
+		return signatureMask;
 	}
 	
 	// Public Methods
@@ -194,20 +476,18 @@ public class ImageForge {
 	 * @throws InvalidTextForgeConfigException - in case of bad definition of the TextForge 
 	 */
 	public void addLine(TextForge line) throws InvalidTextForgeConfigException {
-		if(Objects.nonNull(line)) {
-			// Validate that the info is complete
-			if(Objects.isNull(line.getTextAlign()))
-				throw new InvalidTextForgeConfigException("a text aling must be defined");
-			if(Objects.isNull(line.getFont()))
-				throw new InvalidTextForgeConfigException("A font is required for the line");
-			if(Objects.isNull(line.getColor()))
-				throw new InvalidTextForgeConfigException("the text require a color definition");
-			
-			// add line to the collection
-			if(Objects.isNull(lines))
-				lines = new ArrayList<TextForge>();
-			lines.add(line);
-		}
+		// the document validates that the info is complete
+		if(Objects.nonNull(line))
+			document().add(line);
+	}
+	
+	/**
+	 * procedure to add all the lines of a document to be draw in the image
+	 * @param textDocument {@link TextDocument} - lines of text to draw in the generate image, validated when added to it
+	 */
+	public void addLines(TextDocument textDocument) {
+		if(Objects.nonNull(textDocument))
+			document().addAll(textDocument);
 	}
 	
 	/**
@@ -216,7 +496,7 @@ public class ImageForge {
 	 * @throws InvalidTextForgeConfigException - in case of bad definition of the TextForge 
 	 */
 	public void addLine(String line) throws InvalidTextForgeConfigException {
-		addLine(TextForge.builder().text(line).textAlign(TextAlign.LEFT).font(new Font(Font.MONOSPACED, Font.PLAIN, 12)).color(Color.BLACK).build());
+		addLine(TextForge.builder().text(line).textAlign(TextAlign.LEFT).font(FontRegistry.global().get(Font.MONOSPACED, Font.PLAIN, 12)).color(Color.BLACK).build());
 	}
 
 	/**
@@ -226,56 +506,143 @@ public class ImageForge {
 	 * @throws IOException - in case that can not encode the image
 	 */
 	public byte[] forgeImage(ImageEncoder encoder) throws IOException {
-		ByteArrayOutputStream output = new ByteArrayOutputStream();
-		ImageIO.write(this.getBufferedImage(), encoder.name(), output);
-		output.flush();
-		byte[] image = output.toByteArray();
-		output.close();
-		return image;
+		RenderingProfile profile = profile(RenderingProfile.BALANCED);
+		layout(profile);
+		try (Admission admission = admit(profile.getImageType(), encoder, false)) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			ImageCodec.of(encoder).write(pack(this.getBufferedImage(drawType(admission.imageType), profile), admission.imageType), output);
+			output.flush();
+			byte[] image = output.toByteArray();
+			output.close();
+			return image;
+		}
 	}
 	
+	/**
+	 * function that generate the image with the loaded text and signature without encoding it. The memory
+	 * budget accounts the render only while it is drawn, the returned image is not accounted once it is
+	 * handed to the caller, prefer the encoding methods when many renders run at the same time
+	 * @param imageType {@link ImageEncoder} - not used, the image is not encoded
+	 * @param signature (String) - the base 64 signature, null for none
+	 * @return {@link BufferedImage} - the image, out of the memory budget
+	 * @throws InvalidTextForgeConfigException - in case that the signature can not be read
+	 * @throws IOException - when the memory budget rejects the render or the wait is interrupted
+	 */
 	public BufferedImage forgeImage(ImageEncoder imageType, String signature) throws InvalidTextForgeConfigException, IOException{
-		if(signature != null) {
-			ImageOverlay overlay = new ImageOverlay();
-
-			BufferedImage signatureImg = readSignature(signature);
-
-			BufferedImage voucher = getBufferedImage();
-			
-			//Avoid oversizing small images that don't requiere a strech
-			double safeZoneWidth = (this.width-(leftMargin + rightMargin))*0.5;
-			
-			if ((int) safeZoneWidth <= signatureImg.getWidth()) {
-				signatureImg = overlay.resizeImage(signatureImg, (int) (safeZoneWidth), (int)(safeZoneWidth*signatureImg.getHeight())/signatureImg.getWidth());
-			}
-			
-			this.height = this.height + signatureImg.getHeight();
-			
-			BufferedImage overlayedImage = overlay.overlayImages(voucher, signatureImg, height -(2*signatureImg.getHeight()));
-			
-			return overlayedImage;
-		} else {
-			return getBufferedImage();
+		RenderingProfile profile = profile(RenderingProfile.BALANCED);
+		SignatureMask signatureMask = peekSignature(signature, profile);
+		layout(profile);
+		try (Admission admission = admit(profile.getImageType(), null, signature != null && signatureMask == null)) {
+			return render(admission.imageType, profile, signature, signatureMask);
 		}
+	}
+	
+	/**
+	 * procedure that generate the image with the loaded text and signature and encode it into the stream
+	 * @param output {@link OutputStream} - where to write the image, it is not closed
+	 * @param imageType {@link ImageEncoder} - the encoder of the image, png if null
+	 * @param signature (String) - the base 64 signature, null for none
+	 * @throws IOException - in case that can not encode the image
+	 * @throws InvalidTextForgeConfigException - in case that the signature can not be read
+	 */
+	public void forgeImage(OutputStream output, ImageEncoder imageType, String signature) throws IOException, InvalidTextForgeConfigException {
+		ImageEncoder encoder = imageType!=null?imageType:ImageEncoder.png;
 		
-		
+		RenderingProfile profile = profile(RenderingProfile.BALANCED);
+		SignatureMask signatureMask = peekSignature(signature, profile);
+		layout(profile);
+		try (Admission admission = admit(profile.getImageType(), encoder, signature != null && signatureMask == null)) {
+			ImageCodec.of(encoder).write(render(admission.imageType, profile, signature, signatureMask), output);
+			output.flush();
+		}
 	}
 	
 	public File forgeImage(String path,ImageEncoder imageType, String signature) throws IOException, InvalidTextForgeConfigException{
 		File voucherFile = new File(path);
 		
-		ImageIO.write(forgeImage(imageType, signature), (imageType!=null?imageType.name():ImageEncoder.png.name()), voucherFile);
+		try (OutputStream output = new BufferedOutputStream(new FileOutputStream(voucherFile))) {
+			forgeImage(output, imageType, signature);
+		}
 		
 		return voucherFile;
 	}
 	
 	public String forgeImageB64(ImageEncoder imageType, String signature) throws IOException, InvalidTextForgeConfigException {
-		BufferedImage img = forgeImage(imageType, signature);
-		
 		ByteArrayOutputStream os = new ByteArrayOutputStream();
-		OutputStream b64 = new Base64OutputStream(os);
-		ImageIO.write(img, "png", b64);
+		try (OutputStream b64 = new Base64OutputStream(os)) {
+			forgeImage(b64, imageType, signature);
+		}
 		return os.toString("UTF-8");
 	}
 	
+	/**
+	 * procedure that print the loaded text and signature as ESC/POS raster commands for a thermal printer,
+	 * the image is drawn one bit per dot at the width of the paper so no image has to be encoded, decoded
+	 * and dithered on the way to the printer. The print is as wide as the dots of the paper, the width of
+	 * the forge is kept for its images, and if no profile was given it is drawn with the
+	 * {@link RenderingProfile#FAST_BILEVEL} hints
+	 * @param output {@link OutputStream} - where to write the commands, it is not closed
+	 * @param paper {@link PrinterPaper} - the paper of the printer
+	 * @param signature (String) - the base 64 signature, null for none
+	 * @param bandHeight (int) - rows of each raster command, 0 or less for the biggest bands
+	 * @throws IOException - in case that can not write the commands
+	 * @throws InvalidTextForgeConfigException - in case that the signature can not be read or a line is
+	 * wider than the paper, nothing is written then
+	 */
+	public void forgeEscPos(OutputStream output, PrinterPaper paper, String signature, int bandHeight) throws IOException, InvalidTextForgeConfigException {
+		PrinterPaper printerPaper = paper!=null?paper:PrinterPaper.MM80;
+		RenderingProfile profile = profile(RenderingProfile.FAST_BILEVEL);
+		SignatureMask signatureMask = peekSignature(signature, profile);
+		
+		// the width of the paper only lasts for this print
+		Integer configuredWidth = width;
+		Boolean configuredDynamicWidth = dynamicWitdh;
+		width = printerPaper.getDots();
+		dynamicWitdh = false;
+		try {
+			layout(profile);
+			checkPaper(printerPaper);
+			try (Admission admission = admit(BufferedImage.TYPE_BYTE_BINARY, null, signature != null && signatureMask == null)) {
+				new EscPosRasterWriter(bandHeight).write(render(admission.imageType, profile, signature, signatureMask), output);
+				output.flush();
+			}
+		} finally {
+			width = configuredWidth;
+			dynamicWitdh = configuredDynamicWidth;
+		}
+	}
+	
+	/**
+	 * procedure that print the loaded text and signature as ESC/POS raster commands for a thermal printer,
+	 * in bands as big as the printers accept
+	 * @param output {@link OutputStream} - where to write the commands, it is not closed
+	 * @param paper {@link PrinterPaper} - the paper of the printer
+	 * @param signature (String) - the base 64 signature, null for none
+	 * @throws IOException - in case that can not write the commands
+	 * @throws InvalidTextForgeConfigException - in case that the signature can not be read
+	 */
+	public void forgeEscPos(OutputStream output, PrinterPaper paper, String signature) throws IOException, InvalidTextForgeConfigException {
+		forgeEscPos(output, paper, signature, 0);
+	}
+	
+	/**
+	 * Memory leased for one render and the image type it was admitted with
+	 */
+	private static class Admission implements AutoCloseable {
+		
+		private final RenderMemoryBudget.Lease lease;
+		private final int imageType;
+		
+		private Admission(RenderMemoryBudget.Lease lease, int imageType) {
+			this.lease = lease;
+			this.imageType = imageType;
+		}
+		
+		@Override
+		public void close() {
+			lease.close();
+		}
+		
+	}
+	
 }
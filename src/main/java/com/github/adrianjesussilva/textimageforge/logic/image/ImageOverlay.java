@@ -1,10 +1,12 @@
 package com.github.adrianjesussilva.textimageforge.logic.image;
 
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
 import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
 
 import lombok.NoArgsConstructor;
@@ -30,6 +32,20 @@ public class ImageOverlay {
      */
     public BufferedImage overlayImages(BufferedImage background,
             BufferedImage foreground, int bgImageHeight) throws InvalidTextForgeConfigException {
+        return overlayImages(background, foreground, bgImageHeight, RenderingProfile.BALANCED);
+    }
+    
+    /**
+     * Method that overlay Images with the hints of the given profile
+     * @param background (BufferedImage) - Background image
+     * @param fgImage (BufferedImage) - Foreground image
+     * @param bgImageHeight (int) - Background image height
+     * @param profile (RenderingProfile) - hints of the drawing
+     * @return BufferedImage - Foreground image over background image
+     * @throws InvalidTextForgeConfigException 
+     */
+    public BufferedImage overlayImages(BufferedImage background,
+            BufferedImage foreground, int bgImageHeight, RenderingProfile profile) throws InvalidTextForgeConfigException {
         /**
          * Check if foreground's width and height is greater than background's 
          * If so, image can not be overlaid.
@@ -40,7 +56,7 @@ public class ImageOverlay {
         }
         
         Graphics2D g = background.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        profile.applyTo(g);
        
         // Draw background image at (0,0)
         g.drawImage(background, 0, 0, null);
@@ -51,6 +67,48 @@ public class ImageOverlay {
         return background;
     }
     
+    /**
+     * Method that stamps a signature mask over an image, only the runs of ink are written
+     * @param background (BufferedImage) - Background image
+     * @param signature (SignatureMask) - Signature to stamp
+     * @param bgImageHeight (int) - Background image height
+     * @return BufferedImage - Signature over background image
+     * @throws InvalidTextForgeConfigException 
+     */
+    public BufferedImage overlaySignature(BufferedImage background,
+            SignatureMask signature, int bgImageHeight) throws InvalidTextForgeConfigException {
+        if (signature.getHeight() > background.getHeight()
+                || signature.getWidth() > background.getWidth()) {
+        	throw new InvalidTextForgeConfigException("The defined foreground's dimensions are bigger than the background's dimensions");
+        }
+        
+        // Same placement as overlayImages, clipped to the background rows
+        int x = background.getWidth()/2 - signature.getWidth()/2;
+        int y = bgImageHeight-20;
+        int firstRow = Math.max(0, -y);
+        int lastRow = Math.min(signature.getHeight(), background.getHeight() - y);
+        if (firstRow >= lastRow) {
+        	return background;
+        }
+        
+        WritableRaster raster = background.getRaster();
+        if ((background.getType() == BufferedImage.TYPE_INT_RGB || background.getType() == BufferedImage.TYPE_INT_ARGB)
+        		&& raster.getDataBuffer() instanceof DataBufferInt && raster.getDataBuffer().getNumBanks() == 1
+        		&& raster.getParent() == null) {
+        	// Stamp straight into the pixels of the raster
+        	int[] pixels = ((DataBufferInt) raster.getDataBuffer()).getData();
+        	signature.stamp(pixels, y * background.getWidth() + x, background.getWidth(), firstRow, lastRow);
+        } else {
+        	// Any other layout goes through a rgb copy of the covered area
+        	int width = signature.getWidth();
+        	int height = lastRow - firstRow;
+        	int[] pixels = background.getRGB(x, y + firstRow, width, height, null, 0, width);
+        	signature.stamp(pixels, -firstRow * width, width, firstRow, lastRow);
+        	background.setRGB(x, y + firstRow, width, height, pixels, 0, width);
+        }
+        return background;
+    }
+    
     
     /**
      * Method that resizes an image according to the specified width and height
@@ -60,8 +118,21 @@ public class ImageOverlay {
      * @throws IOException 
      */
     public BufferedImage resizeImage(BufferedImage image, int width, int height) throws IOException {
+    	return resizeImage(image, width, height, RenderingProfile.BALANCED);
+    }
+    
+    /**
+     * Method that resizes an image with the interpolation of the given profile
+     * @param image (BufferedImage) - Buffered image to resize
+     * @param width (int) - Target width 
+     * @param height (int) - Target height
+     * @param profile (RenderingProfile) - hints of the drawing
+     * @throws IOException 
+     */
+    public BufferedImage resizeImage(BufferedImage image, int width, int height, RenderingProfile profile) throws IOException {
     	BufferedImage resizedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D graphics2D = resizedImage.createGraphics();
+        profile.applyTo(graphics2D);
         graphics2D.drawImage(image, 0, 0, width, height, null);
         graphics2D.dispose();
 
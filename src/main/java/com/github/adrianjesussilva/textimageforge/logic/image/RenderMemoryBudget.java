@@ -0,0 +1,205 @@
+package com.github.adrianjesussilva.textimageforge.logic.image;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.AdmissionPolicy;
+import com.github.adrianjesussilva.textimageforge.logic.exception.MemoryBudgetExceededException;
+
+/**
+ * Bounded amount of memory shared by the renders that are running at the same time.
+ *
+ * Each render estimates the bytes it will allocate (raster, signature and encode buffer) before
+ * allocating anything and leases them from the budget, so a burst of large renders waits or is
+ * rejected instead of exhausting the heap. A single render bigger than the whole budget is admitted
+ * alone, leasing all the capacity.
+ *
+ * The renders that wait are admitted in arrival order, a new render does not go before the ones already
+ * waiting even if its bytes fit, so the large renders are not starved by a stream of small ones
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class RenderMemoryBudget {
+
+	// Constants
+	private static final long DEFAULT_HEAP_FRACTION = 4;
+
+	// Budget used by the forges that are not given one
+	private static volatile RenderMemoryBudget global = new RenderMemoryBudget(Runtime.getRuntime().maxMemory() / DEFAULT_HEAP_FRACTION, AdmissionPolicy.WAIT);
+
+	// Attributes
+	private final long capacity;
+	private final AdmissionPolicy policy;
+	private long used;
+	private long peak;
+	private long rejected;
+	// tickets of the waiting renders in arrival order, only the head is admitted
+	private final Deque<Object> waiters = new ArrayDeque<>();
+
+	// Constructor
+	public RenderMemoryBudget(long capacity, AdmissionPolicy policy) {
+		if(capacity <= 0)
+			throw new IllegalArgumentException("the memory budget capacity must be positive");
+		this.capacity = capacity;
+		this.policy = Objects.isNull(policy) ? AdmissionPolicy.WAIT : policy;
+	}
+
+	// Private Methods
+	private long clamp(long bytes) {
+		return Math.max(0, Math.min(bytes, capacity));
+	}
+
+	private Lease grant(long bytes) {
+		used += bytes;
+		peak = Math.max(peak, used);
+		return new Lease(bytes);
+	}
+
+	private synchronized void release(long bytes) {
+		used -= bytes;
+		notifyAll();
+	}
+
+	// Public Methods
+	/**
+	 * @return RenderMemoryBudget - the budget shared by default for the whole process, a quarter of the max heap
+	 */
+	public static RenderMemoryBudget global() {
+		return global;
+	}
+
+	/**
+	 * procedure that replace the budget shared by default, the renders already admitted keep the old one
+	 * @param budget (RenderMemoryBudget) - the new global budget
+	 */
+	public static void setGlobal(RenderMemoryBudget budget) {
+		global = Objects.requireNonNull(budget);
+	}
+
+	/**
+	 * function that lease the given bytes if they are available right now and no render is waiting
+	 * @param bytes (long) - estimated bytes of the render
+	 * @return Lease - the lease or null when there is not enough memory
+	 */
+	public synchronized Lease tryAcquire(long bytes) {
+		long amount = clamp(bytes);
+		if(!waiters.isEmpty() || used + amount > capacity)
+			return null;
+		return grant(amount);
+	}
+
+	/**
+	 * function that lease the given bytes, waiting for them unless the policy is {@link AdmissionPolicy#FAIL_FAST}
+	 * @param bytes (long) - estimated bytes of the render
+	 * @return Lease - the lease, it must be closed when the render ends
+	 * @throws MemoryBudgetExceededException - when the policy is fail fast and the memory is not available
+	 * @throws InterruptedIOException - when the thread is interrupted while waiting
+	 */
+	public Lease acquire(long bytes) throws MemoryBudgetExceededException, InterruptedIOException {
+		return acquire(bytes, policy);
+	}
+
+	/**
+	 * function that lease the given bytes with the policy of the render instead of the one of the budget
+	 * @param bytes (long) - estimated bytes of the render
+	 * @param policy (AdmissionPolicy) - the policy of the render, null for the one of the budget
+	 * @return Lease - the lease, it must be closed when the render ends
+	 * @throws MemoryBudgetExceededException - when the policy is fail fast and the memory is not available
+	 * @throws InterruptedIOException - when the thread is interrupted while waiting
+	 */
+	public synchronized Lease acquire(long bytes, AdmissionPolicy policy) throws MemoryBudgetExceededException, InterruptedIOException {
+		long amount = clamp(bytes);
+		boolean admitted = waiters.isEmpty() && used + amount <= capacity;
+		if(!admitted && (Objects.isNull(policy) ? this.policy : policy) == AdmissionPolicy.FAIL_FAST) {
+			rejected++;
+			throw new MemoryBudgetExceededException("The render requires " + amount + " bytes and only " + (capacity - used)
+					+ " are available for " + (waiters.size() + 1) + " renders");
+		}
+		if(admitted)
+			return grant(amount);
+
+		Object ticket = new Object();
+		waiters.addLast(ticket);
+		try {
+			while(waiters.peekFirst() != ticket || used + amount > capacity)
+				wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the memory budget");
+		} finally {
+			waiters.remove(ticket);
+			// the next ticket may fit in what is left
+			notifyAll();
+		}
+		return grant(amount);
+	}
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	public AdmissionPolicy getPolicy() {
+		return policy;
+	}
+
+	public synchronized long getUsed() {
+		return used;
+	}
+
+	public synchronized long getAvailable() {
+		return capacity - used;
+	}
+
+	/**
+	 * @return long - highest amount of bytes leased at the same time
+	 */
+	public synchronized long getPeak() {
+		return peak;
+	}
+
+	/**
+	 * @return int - renders waiting for memory right now
+	 */
+	public synchronized int getWaiting() {
+		return waiters.size();
+	}
+
+	/**
+	 * @return long - renders rejected by the fail fast policy
+	 */
+	public synchronized long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Bytes leased by one render, they return to the budget when it is closed
+	 */
+	public class Lease implements AutoCloseable {
+
+		private final long bytes;
+		private boolean released;
+
+		private Lease(long bytes) {
+			this.bytes = bytes;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		@Override
+		public void close() {
+			synchronized (this) {
+				if(released)
+					return;
+				released = true;
+			}
+			release(bytes);
+		}
+
+	}
+
+}
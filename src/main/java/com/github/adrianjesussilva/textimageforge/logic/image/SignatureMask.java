@@ -0,0 +1,348 @@
+package com.github.adrianjesussilva.textimageforge.logic.image;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+import com.github.adrianjesussilva.textimageforge.logic.kernel.PixelKernels;
+import com.github.adrianjesussilva.textimageforge.logic.kernel.ScalarPixelKernels;
+
+/**
+ * Compact run-length representation of a signature.
+ *
+ * A signature is ink over a transparent paper, so instead of keeping the full ARGB raster only the
+ * horizontal runs of ink are stored, one ink color for the whole signature and, optionally, one
+ * coverage byte per ink pixel to keep the anti-aliased edges. Signatures of more than one color keep
+ * the color of every ink pixel, and opaque ones are ink everywhere, so stamping the mask gives the
+ * pixels of drawing the image
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class SignatureMask {
+
+	// Constants
+	private static final int OPAQUE = 0xFF;
+	private static final int BILEVEL_THRESHOLD = 0x80;
+	private static final int OPAQUE_ALPHA = 0xFF000000;
+
+	// Attributes
+	private final int width;
+	private final int height;
+	private final int ink;
+	private final int[] rowIndex;
+	private final int[] runs;
+	private final byte[] coverage;
+	private final int[] colors;
+	private final int sourceType;
+
+	// Constructor
+	private SignatureMask(int width, int height, int ink, int[] rowIndex, int[] runs, byte[] coverage, int[] colors, int sourceType) {
+		this.width = width;
+		this.height = height;
+		this.ink = ink;
+		this.rowIndex = rowIndex;
+		this.runs = runs;
+		this.coverage = coverage;
+		this.colors = colors;
+		this.sourceType = sourceType;
+	}
+
+	// Private Methods
+	/**
+	 * function that give the color shared by all the ink of a grid
+	 * @param grid (int[]) - argb of every pixel, row by row
+	 * @param antialiased (boolean) - if the partial coverage counts as ink
+	 * @return int - rgb of the ink, -1 when the ink has more than one color
+	 */
+	private static int singleInk(int[] grid, boolean antialiased) {
+		int ink = -1;
+		for(int argb : grid) {
+			if(!isInk(argb >>> 24, antialiased))
+				continue;
+			int rgb = argb & 0xFFFFFF;
+			if(ink == -1)
+				ink = rgb;
+			else if(ink != rgb)
+				return -1;
+		}
+		return ink == -1 ? 0 : ink;
+	}
+
+	/**
+	 * function that build the mask from a grid of argb values
+	 * @param width (int) - width of the grid
+	 * @param height (int) - height of the grid
+	 * @param grid (int[]) - argb of every pixel, row by row, the alpha is the coverage of the ink
+	 * @param antialiased (boolean) - keep the partial coverage of the edges or reduce it to 1 bit
+	 * @param sourceType (int) - type of the image the grid comes from
+	 * @return SignatureMask - the encoded mask
+	 */
+	private static SignatureMask encode(int width, int height, int[] grid, boolean antialiased, int sourceType) {
+		int ink = singleInk(grid, antialiased);
+		boolean singleInk = ink != -1;
+		int[] rowIndex = new int[height + 1];
+		int[] runs = new int[16];
+		byte[] coverage = new byte[16];
+		int[] colors = new int[singleInk ? 0 : 16];
+		int runCount = 0;
+		int inkPixels = 0;
+		boolean partial = false;
+
+		for(int y = 0; y < height; y++) {
+			rowIndex[y] = runCount;
+			int offset = y * width;
+			int x = 0;
+			while(x < width) {
+				// skip the paper
+				while(x < width && !isInk(grid[offset + x] >>> 24, antialiased))
+					x++;
+				if(x == width)
+					break;
+				int start = x;
+				while(x < width && isInk(grid[offset + x] >>> 24, antialiased)) {
+					if(inkPixels == coverage.length) {
+						coverage = Arrays.copyOf(coverage, coverage.length * 2);
+						if(!singleInk)
+							colors = Arrays.copyOf(colors, colors.length * 2);
+					}
+					int value = antialiased ? grid[offset + x] >>> 24 : OPAQUE;
+					partial |= value < OPAQUE;
+					if(!singleInk)
+						colors[inkPixels] = grid[offset + x] & 0xFFFFFF;
+					coverage[inkPixels++] = (byte) value;
+					x++;
+				}
+				if(runCount * 2 + 2 > runs.length)
+					runs = Arrays.copyOf(runs, runs.length * 2);
+				runs[runCount * 2] = start;
+				runs[runCount * 2 + 1] = x - start;
+				runCount++;
+			}
+		}
+		rowIndex[height] = runCount;
+
+		return new SignatureMask(width, height, singleInk ? ink : 0, rowIndex, Arrays.copyOf(runs, runCount * 2),
+				partial ? Arrays.copyOf(coverage, inkPixels) : null, singleInk ? null : Arrays.copyOf(colors, inkPixels), sourceType);
+	}
+
+	private static boolean isInk(int coverage, boolean antialiased) {
+		return antialiased ? coverage > 0 : coverage >= BILEVEL_THRESHOLD;
+	}
+
+	/**
+	 * function that expand the mask back into a grid of argb values
+	 * @return int[] - argb of every pixel, row by row, the alpha is the coverage of the ink
+	 */
+	private int[] decode() {
+		int[] grid = new int[width * height];
+		int pixel = 0;
+		for(int y = 0; y < height; y++) {
+			for(int run = rowIndex[y]; run < rowIndex[y + 1]; run++) {
+				int start = y * width + runs[run * 2];
+				int length = runs[run * 2 + 1];
+				for(int i = 0; i < length; i++, pixel++) {
+					int alpha = coverage == null ? OPAQUE : coverage[pixel] & 0xFF;
+					grid[start + i] = alpha << 24 | (colors == null ? ink : colors[pixel]);
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * function that scale the mask as an ARGB image with Graphics2D, as
+	 * {@link ImageOverlay#resizeImage(BufferedImage, int, int, RenderingProfile)} scales the signature images
+	 * @param width (int) - target width
+	 * @param height (int) - target height
+	 * @param profile (RenderingProfile) - hints of the drawing
+	 * @return int[] - argb of every scaled pixel, row by row
+	 */
+	private int[] scale(int width, int height, RenderingProfile profile) {
+		// every source type has its own scaling loop, with its own stepping
+		BufferedImage image = new BufferedImage(this.width, this.height, sourceType);
+		image.setRGB(0, 0, this.width, this.height, decode(), 0, this.width);
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2D = scaled.createGraphics();
+		profile.applyTo(graphics2D);
+		graphics2D.drawImage(image, 0, 0, width, height, null);
+		graphics2D.dispose();
+		return scaled.getRGB(0, 0, width, height, null, 0, width);
+	}
+
+	/**
+	 * function that mix a color with the given background pixel, rounding as the source over loops of Java2D
+	 */
+	private static int blend(int background, int color, int alpha) {
+		if(alpha == OPAQUE)
+			return OPAQUE_ALPHA | color;
+		int inverse = OPAQUE - alpha;
+		int r = ScalarPixelKernels.multiply((color >> 16) & 0xFF, alpha) + ScalarPixelKernels.multiply((background >> 16) & 0xFF, inverse);
+		int g = ScalarPixelKernels.multiply((color >> 8) & 0xFF, alpha) + ScalarPixelKernels.multiply((background >> 8) & 0xFF, inverse);
+		int b = ScalarPixelKernels.multiply(color & 0xFF, alpha) + ScalarPixelKernels.multiply(background & 0xFF, inverse);
+		return OPAQUE_ALPHA | r << 16 | g << 8 | b;
+	}
+
+	// Public Methods
+	/**
+	 * function that convert a signature image into a mask
+	 * @param image (BufferedImage) - the signature, ink over transparent background, opaque images are
+	 * ink everywhere and are stamped with their paper
+	 * @param antialiased (boolean) - keep the partial coverage of the edges or reduce it to 1 bit
+	 * @return SignatureMask - the mask of the signature
+	 */
+	public static SignatureMask of(BufferedImage image, boolean antialiased) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int type = image.getType();
+		boolean plain = type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_BGR
+				|| type == BufferedImage.TYPE_3BYTE_BGR || type == BufferedImage.TYPE_4BYTE_ABGR;
+		return encode(width, height, image.getRGB(0, 0, width, height, null, 0, width), antialiased, plain ? type : BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * function that scale the mask to the given size, sampling the nearest pixel as the default
+	 * interpolation of Graphics2D does
+	 * @param width (int) - target width
+	 * @param height (int) - target height
+	 * @return SignatureMask - the resized mask
+	 */
+	public SignatureMask resize(int width, int height) {
+		if(width == this.width && height == this.height)
+			return this;
+		// the fixed point stepping of Graphics2D picks its own source pixels, so it does the sampling
+		return encode(width, height, scale(width, height, RenderingProfile.BALANCED), coverage != null, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * function that scale the mask to the given size
+	 * @param width (int) - target width
+	 * @param height (int) - target height
+	 * @param smooth (boolean) - average the area every target pixel covers, the edges get partial coverage,
+	 * or sample the nearest pixel as {@link #resize(int, int)}. Masks of many colors are scaled with the
+	 * high quality hints of Graphics2D
+	 * @return SignatureMask - the resized mask
+	 */
+	public SignatureMask resize(int width, int height, boolean smooth) {
+		if(!smooth || (width == this.width && height == this.height))
+			return resize(width, height);
+		if(colors != null)
+			return encode(width, height, scale(width, height, RenderingProfile.HIGH_QUALITY), true, BufferedImage.TYPE_INT_ARGB);
+		int[] source = decode();
+
+		// horizontal pass, every target column averages the source columns it overlaps
+		double scaleX = (double) this.width / width;
+		double[] columns = new double[this.height * width];
+		for(int x = 0; x < width; x++) {
+			double left = x * scaleX;
+			double right = Math.min(this.width, left + scaleX);
+			for(int sourceX = (int) left; sourceX < right; sourceX++) {
+				double weight = (Math.min(right, sourceX + 1) - Math.max(left, sourceX)) / scaleX;
+				for(int y = 0; y < this.height; y++)
+					columns[y * width + x] += (source[y * this.width + sourceX] >>> 24) * weight;
+			}
+		}
+
+		// vertical pass over the averaged columns
+		double scaleY = (double) this.height / height;
+		int[] grid = new int[width * height];
+		for(int y = 0; y < height; y++) {
+			double top = y * scaleY;
+			double bottom = Math.min(this.height, top + scaleY);
+			for(int x = 0; x < width; x++) {
+				double value = 0;
+				for(int sourceY = (int) top; sourceY < bottom; sourceY++)
+					value += columns[sourceY * width + x] * (Math.min(bottom, sourceY + 1) - Math.max(top, sourceY)) / scaleY;
+				grid[y * width + x] = Math.min(OPAQUE, (int) Math.round(value)) << 24 | ink;
+			}
+		}
+		return encode(width, height, grid, true, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * procedure that stamp the ink of the mask over a rgb pixel array, only the runs of ink are touched
+	 * @param pixels (int[]) - rgb pixels of the destination
+	 * @param offset (int) - index of the destination pixel where the mask top left corner goes
+	 * @param scanline (int) - distance between two rows of the destination
+	 * @param firstRow (int) - first row of the mask to stamp, the previous ones are clipped
+	 * @param lastRow (int) - row of the mask where the stamp stops (exclusive)
+	 */
+	public void stamp(int[] pixels, int offset, int scanline, int firstRow, int lastRow) {
+		int pixel = 0;
+		for(int y = 0; y < lastRow; y++) {
+			for(int run = rowIndex[y]; run < rowIndex[y + 1]; run++) {
+				int start = offset + y * scanline + runs[run * 2];
+				int length = runs[run * 2 + 1];
+				if(y < firstRow) {
+					pixel += length;
+				} else if(colors != null) {
+					for(int i = 0; i < length; i++, pixel++)
+						pixels[start + i] = blend(pixels[start + i], colors[pixel], coverage == null ? OPAQUE : coverage[pixel] & 0xFF);
+				} else if(coverage == null) {
+					PixelKernels.selected().fill(pixels, start, start + length, OPAQUE_ALPHA | ink);
+				} else {
+					PixelKernels.selected().composite(pixels, start, coverage, pixel, length, ink);
+					pixel += length;
+				}
+			}
+		}
+	}
+
+	/**
+	 * function that mix the ink with the given background pixel
+	 * @param background (int) - rgb of the background
+	 * @param alpha (int) - coverage of the ink between 0 and 255
+	 * @return int - the blended opaque rgb
+	 */
+	public int blend(int background, int alpha) {
+		if(alpha == 0)
+			return background;
+		return blend(background, ink, alpha);
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return int - rgb of the ink, 0 when every ink pixel keeps its own color
+	 */
+	public int getInk() {
+		return ink;
+	}
+
+	/**
+	 * @return boolean - if the signature has more than one color and every ink pixel keeps its own
+	 */
+	public boolean isMultiColored() {
+		return colors != null;
+	}
+
+	/**
+	 * @return boolean - if the mask keeps partial coverage for the edges
+	 */
+	public boolean isAntialiased() {
+		return coverage != null;
+	}
+
+	/**
+	 * @return int - number of runs of ink in the mask
+	 */
+	public int getRunCount() {
+		return runs.length / 2;
+	}
+
+	/**
+	 * @return long - approximated bytes retained by the mask
+	 */
+	public long getByteSize() {
+		return (long) rowIndex.length * Integer.BYTES + (long) runs.length * Integer.BYTES + (coverage == null ? 0 : coverage.length)
+				+ (colors == null ? 0 : (long) colors.length * Integer.BYTES);
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.github.adrianjesussilva.textimageforge.logic.kernel;
+
+/**
+ * Runtime choice of the {@link PixelKernels}. The vector kernels only exist in the Java 21 part of the
+ * multi-release jar and need the incubating module, so they are loaded by name, and they are only
+ * created when their static isSupported() tells that the vectors of the machine pay off. Any failure to
+ * load them falls back to the scalar kernels
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+final class KernelSelector {
+
+	// Constants
+	static final String PROPERTY = "textimageforge.kernels";
+	static final String VECTOR_KERNELS = "com.github.adrianjesussilva.textimageforge.logic.kernel.VectorPixelKernels";
+	static final String IS_SUPPORTED = "isSupported";
+
+	static final PixelKernels SELECTED = select();
+
+	// Constructor
+	private KernelSelector() {
+	}
+
+	// Private Methods
+	private static PixelKernels select() {
+		if("scalar".equalsIgnoreCase(System.getProperty(PROPERTY)))
+			return ScalarPixelKernels.INSTANCE;
+		try {
+			Class<?> kernels = Class.forName(VECTOR_KERNELS);
+			// vectors too narrow to pay off
+			if(!Boolean.TRUE.equals(kernels.getDeclaredMethod(IS_SUPPORTED).invoke(null)))
+				return ScalarPixelKernels.INSTANCE;
+			return (PixelKernels) kernels.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			// older JVM or module not added
+			return ScalarPixelKernels.INSTANCE;
+		}
+	}
+
+}
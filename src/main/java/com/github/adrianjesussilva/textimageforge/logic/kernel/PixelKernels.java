@@ -0,0 +1,77 @@
+package com.github.adrianjesussilva.textimageforge.logic.kernel;
+
+/**
+ * Per pixel loops of the renders, kept apart so they can be replaced by SIMD versions.
+ *
+ * The library is built for Java 8 with the {@link ScalarPixelKernels}. The multi-release jar built with
+ * JDK 21 also carries kernels written with the incubating Vector API (jdk.incubator.vector) in
+ * META-INF/versions/21, they are selected at runtime when the JVM is 21 or newer and was started with
+ * {@code --add-modules jdk.incubator.vector}. The system property {@code textimageforge.kernels=scalar}
+ * forces the scalar kernels. Every implementation gives exactly the same pixels
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public interface PixelKernels {
+
+	/**
+	 * @return PixelKernels - the kernels selected for this JVM, chosen once per process
+	 */
+	static PixelKernels selected() {
+		return KernelSelector.SELECTED;
+	}
+
+	/**
+	 * procedure that fill a range of int pixels, as the background of a canvas
+	 * @param pixels (int[]) - the pixels
+	 * @param from (int) - first index to fill
+	 * @param to (int) - index where the fill stops (exclusive)
+	 * @param value (int) - the pixel
+	 */
+	void fill(int[] pixels, int from, int to, int value);
+
+	/**
+	 * procedure that fill a range of gray pixels, as the background of a canvas
+	 * @param pixels (byte[]) - the pixels
+	 * @param from (int) - first index to fill
+	 * @param to (int) - index where the fill stops (exclusive)
+	 * @param value (byte) - the gray level
+	 */
+	void fill(byte[] pixels, int from, int to, byte value);
+
+	/**
+	 * procedure that convert rgb pixels to gray with the weights Java2D uses for gray rasters,
+	 * (77 r + 150 g + 29 b + 128) / 256, the alpha is ignored
+	 * @param rgb (int[]) - the rgb pixels
+	 * @param rgbOffset (int) - index of the first rgb pixel
+	 * @param gray (byte[]) - where to write the gray levels
+	 * @param grayOffset (int) - index of the first gray level
+	 * @param count (int) - pixels to convert
+	 */
+	void luminance(int[] rgb, int rgbOffset, byte[] gray, int grayOffset, int count);
+
+	/**
+	 * procedure that pack gray pixels into one bit per pixel, 8 pixels per byte with the first one in
+	 * the most significant bit and the bits after the last pixel cleared
+	 * @param gray (byte[]) - the gray levels
+	 * @param grayOffset (int) - index of the first gray level
+	 * @param packed (byte[]) - where to write the bits
+	 * @param packedOffset (int) - index of the first byte of bits
+	 * @param count (int) - pixels to pack
+	 * @param threshold (int) - gray level from which the bit is 1
+	 */
+	void threshold(byte[] gray, int grayOffset, byte[] packed, int packedOffset, int count, int threshold);
+
+	/**
+	 * procedure that composite an opaque ink over rgb pixels with the given coverage, as the antialiased
+	 * edges of a signature. Pixels without coverage are left as they are, the others become opaque
+	 * @param pixels (int[]) - the rgb pixels
+	 * @param offset (int) - index of the first pixel
+	 * @param coverage (byte[]) - coverage of the ink between 0 and 255
+	 * @param coverageOffset (int) - index of the coverage of the first pixel
+	 * @param count (int) - pixels to composite
+	 * @param ink (int) - rgb of the ink
+	 */
+	void composite(int[] pixels, int offset, byte[] coverage, int coverageOffset, int count, int ink);
+
+}
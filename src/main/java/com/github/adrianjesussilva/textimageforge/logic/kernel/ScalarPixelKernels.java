@@ -0,0 +1,87 @@
+package com.github.adrianjesussilva.textimageforge.logic.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Plain Java kernels, available on every JVM and used as reference of the vector ones
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public final class ScalarPixelKernels implements PixelKernels {
+
+	// Constants
+	public static final ScalarPixelKernels INSTANCE = new ScalarPixelKernels();
+
+	private static final int OPAQUE = 255;
+	private static final int OPAQUE_ALPHA = 0xFF000000;
+	/** 255 / 256 + 1 / 65536 in 24 bits fixed point, as the multiply table of Java2D */
+	static final int BY_OPAQUE = 0x10101;
+	static final int HALF = 0x800000;
+
+	// Constructor
+	private ScalarPixelKernels() {
+	}
+
+	// Public Methods
+	/**
+	 * function that multiply two 8 bit values as fractions of 255, rounded as the alpha tables of Java2D
+	 * so the composites give the pixels of drawing the ARGB signature
+	 * @param value (int) - value between 0 and 255
+	 * @param alpha (int) - factor between 0 and 255
+	 * @return int - value * alpha / 255
+	 */
+	public static int multiply(int value, int alpha) {
+		// the product overflows into the sign bit, the unsigned shift keeps it exact
+		return (alpha * BY_OPAQUE * value + HALF) >>> 24;
+	}
+
+	@Override
+	public void fill(int[] pixels, int from, int to, int value) {
+		Arrays.fill(pixels, from, to, value);
+	}
+
+	@Override
+	public void fill(byte[] pixels, int from, int to, byte value) {
+		Arrays.fill(pixels, from, to, value);
+	}
+
+	@Override
+	public void luminance(int[] rgb, int rgbOffset, byte[] gray, int grayOffset, int count) {
+		for(int i = 0; i < count; i++) {
+			int pixel = rgb[rgbOffset + i];
+			gray[grayOffset + i] = (byte) ((77 * ((pixel >> 16) & 0xFF) + 150 * ((pixel >> 8) & 0xFF) + 29 * (pixel & 0xFF) + 128) >> 8);
+		}
+	}
+
+	@Override
+	public void threshold(byte[] gray, int grayOffset, byte[] packed, int packedOffset, int count, int threshold) {
+		for(int x = 0; x < count; x += 8) {
+			int bits = 0;
+			int end = Math.min(8, count - x);
+			for(int bit = 0; bit < end; bit++)
+				if((gray[grayOffset + x + bit] & 0xFF) >= threshold)
+					bits |= 0x80 >>> bit;
+			packed[packedOffset + (x >> 3)] = (byte) bits;
+		}
+	}
+
+	@Override
+	public void composite(int[] pixels, int offset, byte[] coverage, int coverageOffset, int count, int ink) {
+		int inkR = (ink >> 16) & 0xFF;
+		int inkG = (ink >> 8) & 0xFF;
+		int inkB = ink & 0xFF;
+		for(int i = 0; i < count; i++) {
+			int alpha = coverage[coverageOffset + i] & 0xFF;
+			if(alpha == 0)
+				continue;
+			int background = pixels[offset + i];
+			int inverse = OPAQUE - alpha;
+			int r = multiply(inkR, alpha) + multiply((background >> 16) & 0xFF, inverse);
+			int g = multiply(inkG, alpha) + multiply((background >> 8) & 0xFF, inverse);
+			int b = multiply(inkB, alpha) + multiply(background & 0xFF, inverse);
+			pixels[offset + i] = OPAQUE_ALPHA | r << 16 | g << 8 | b;
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+package com.github.adrianjesussilva.textimageforge.logic.queue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.AdmissionPolicy;
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.text.FontRegistry;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Immutable description of a voucher to render by the {@link RenderJobQueue}, everything needed to build
+ * the {@link ImageForge} again after a restart is kept so it can be written to the journal: the size,
+ * margins, spacing, background, profile, signature settings and admission policy of the forge. Only the
+ * rasterizer and the memory budget are not part of the job, they belong to the process that renders it.
+ *
+ * The fonts are kept by name, style and size and are looked up again in the {@link FontRegistry}, so the
+ * bundled fonts must be registered before the queue is opened
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Value
+@Builder
+public class RenderJob {
+
+	// Attributes
+	/** unique id of the job, a job already in the journal is not submitted again */
+	private String id;
+	/** path of the image, relative to the output directory of the queue */
+	private String output;
+	private ImageEncoder encoder;
+	private String signature;
+	private RenderingProfile renderingProfile;
+	private Integer width;
+	private Boolean dynamicWidth;
+	private Integer height;
+	private Boolean dynamicHeight;
+	private Integer superiorMargin;
+	private Integer rightMargin;
+	private Integer inferiorMargin;
+	private Integer leftMargin;
+	private Integer lineSpacing;
+	private Color background;
+	private Boolean signatureAntialiasing;
+	/** policy of the render against the memory budget, null for the one of the budget */
+	private AdmissionPolicy admissionPolicy;
+	@Singular
+	private List<TextForge> lines;
+
+	// Private Methods
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		if(Objects.isNull(value)) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		if(length < 0)
+			return null;
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeEnum(DataOutputStream output, Enum<?> value) throws IOException {
+		writeString(output, Objects.isNull(value) ? null : value.name());
+	}
+
+	private static void writeColor(DataOutputStream output, Color color) throws IOException {
+		output.writeBoolean(Objects.nonNull(color));
+		if(Objects.nonNull(color))
+			output.writeInt(color.getRGB());
+	}
+
+	private static Color readColor(DataInputStream input) throws IOException {
+		return input.readBoolean() ? new Color(input.readInt(), true) : null;
+	}
+
+	private static void writeInteger(DataOutputStream output, Integer value) throws IOException {
+		output.writeBoolean(Objects.nonNull(value));
+		if(Objects.nonNull(value))
+			output.writeInt(value);
+	}
+
+	private static Integer readInteger(DataInputStream input) throws IOException {
+		return input.readBoolean() ? input.readInt() : null;
+	}
+
+	private static void writeFlag(DataOutputStream output, Boolean value) throws IOException {
+		output.writeByte(Objects.isNull(value) ? -1 : value ? 1 : 0);
+	}
+
+	private static Boolean readFlag(DataInputStream input) throws IOException {
+		byte value = input.readByte();
+		return value < 0 ? null : value == 1;
+	}
+
+	// Public Methods
+	/**
+	 * procedure that check that the job can be written to the journal and rendered
+	 * @throws InvalidTextForgeConfigException - in case that the id, the output or a line is missing
+	 */
+	public void validate() throws InvalidTextForgeConfigException {
+		if(Objects.isNull(id) || id.isEmpty())
+			throw new InvalidTextForgeConfigException("the render job requires an id");
+		if(Objects.isNull(output) || output.isEmpty())
+			throw new InvalidTextForgeConfigException("the render job " + id + " requires an output path");
+		for(TextForge line : lines) {
+			if(Objects.isNull(line) || Objects.isNull(line.getTextAlign()) || Objects.isNull(line.getFont()) || Objects.isNull(line.getColor()))
+				throw new InvalidTextForgeConfigException("the lines of the render job " + id + " require align, font and color");
+		}
+	}
+
+	/**
+	 * function that build the forge of the voucher
+	 * @return ImageForge - the forge with the configuration and the lines of the job
+	 * @throws InvalidTextForgeConfigException - in case of bad definition of a line
+	 */
+	public ImageForge toImageForge() throws InvalidTextForgeConfigException {
+		ImageForge forge = ImageForge.builder().width(width).dynamicWitdh(dynamicWidth).height(height).dynamicHeight(dynamicHeight)
+				.superiorMargin(superiorMargin).rightMargin(rightMargin).inferiorMargin(inferiorMargin).leftMargin(leftMargin)
+				.lineSpacing(lineSpacing).background(background).renderingProfile(renderingProfile)
+				.signatureAntialiasing(signatureAntialiasing).admissionPolicy(admissionPolicy).build();
+		for(TextForge line : lines)
+			forge.addLine(line);
+		return forge;
+	}
+
+	/**
+	 * procedure that write the job as the payload of a journal record, every setting of the forge in a
+	 * fixed order followed by the lines
+	 * @param stream (DataOutputStream) - where to write the job
+	 * @throws IOException - in case that the stream fails
+	 */
+	void write(DataOutputStream stream) throws IOException {
+		writeString(stream, id);
+		writeString(stream, output);
+		writeEnum(stream, encoder);
+		writeString(stream, signature);
+		writeEnum(stream, renderingProfile);
+		writeInteger(stream, width);
+		writeFlag(stream, dynamicWidth);
+		writeInteger(stream, height);
+		writeFlag(stream, dynamicHeight);
+		writeInteger(stream, superiorMargin);
+		writeInteger(stream, rightMargin);
+		writeInteger(stream, inferiorMargin);
+		writeInteger(stream, leftMargin);
+		writeInteger(stream, lineSpacing);
+		writeColor(stream, background);
+		writeFlag(stream, signatureAntialiasing);
+		writeEnum(stream, admissionPolicy);
+		stream.writeInt(lines.size());
+		for(TextForge line : lines) {
+			writeString(stream, line.getText());
+			writeEnum(stream, line.getTextAlign());
+			writeString(stream, line.getFont().getName());
+			stream.writeInt(line.getFont().getStyle());
+			stream.writeFloat(line.getFont().getSize2D());
+			writeColor(stream, line.getColor());
+		}
+	}
+
+	/**
+	 * function that read a job written by {@link #write(DataOutputStream)}
+	 * @param input (DataInputStream) - the payload of the journal record
+	 * @return RenderJob - the job
+	 * @throws IOException - in case that the payload is truncated or names an unknown or missing constant
+	 */
+	static RenderJob read(DataInputStream input) throws IOException {
+		try {
+			RenderJobBuilder builder = RenderJob.builder().id(readString(input)).output(readString(input));
+			String encoder = readString(input);
+			builder.encoder(Objects.isNull(encoder) ? null : ImageEncoder.valueOf(encoder));
+			builder.signature(readString(input));
+			String profile = readString(input);
+			builder.renderingProfile(Objects.isNull(profile) ? null : RenderingProfile.valueOf(profile));
+			builder.width(readInteger(input)).dynamicWidth(readFlag(input)).height(readInteger(input)).dynamicHeight(readFlag(input))
+					.superiorMargin(readInteger(input)).rightMargin(readInteger(input)).inferiorMargin(readInteger(input))
+					.leftMargin(readInteger(input)).lineSpacing(readInteger(input)).background(readColor(input))
+					.signatureAntialiasing(readFlag(input));
+			String policy = readString(input);
+			builder.admissionPolicy(Objects.isNull(policy) ? null : AdmissionPolicy.valueOf(policy));
+
+			int count = input.readInt();
+			List<TextForge> lines = new ArrayList<>(Math.max(0, Math.min(count, 1024)));
+			for(int i = 0; i < count; i++) {
+				String text = readString(input);
+				TextAlign textAlign = TextAlign.valueOf(readString(input));
+				String fontName = readString(input);
+				int style = input.readInt();
+				Font font = FontRegistry.global().get(fontName, style, input.readFloat());
+				lines.add(TextForge.builder().text(text).textAlign(textAlign).font(font).color(readColor(input)).build());
+			}
+			return builder.lines(lines).build();
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new IOException("The render job record names an unknown constant", e);
+		}
+	}
+
+}
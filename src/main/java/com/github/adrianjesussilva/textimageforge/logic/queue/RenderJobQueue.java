@@ -0,0 +1,286 @@
+package com.github.adrianjesussilva.textimageforge.logic.queue;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+
+/**
+ * Local queue of render jobs that survives restarts, no broker is involved.
+ *
+ * Each job is appended to the {@link RenderJournal} before it is queued and a fixed number of workers
+ * render the jobs with {@link ImageForge} into the output directory. The image is written to a temporary
+ * file, forced to disk and moved over its final name before the job is checkpointed as completed, so
+ * after a crash the queue opened on the same journal renders again only the jobs without checkpoint and
+ * no half written image is ever left under the final name.
+ *
+ * Only the jobs that can never render, a bad configuration or a bad input such as a signature that is not
+ * an image, are checkpointed as failed. The I/O errors (disk full, a failed move, a render rejected by the
+ * memory budget) leave the job pending, it can be retried with {@link #retry()} or is rendered again when
+ * the queue is opened again
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class RenderJobQueue implements Closeable {
+
+	// Constants
+	private static final String TEMPORARY_SUFFIX = ".part";
+
+	// Attributes
+	private final RenderJournal journal;
+	private final Path outputDirectory;
+	private final ExecutorService workers;
+	private final Map<String, RenderJob> deferred = new LinkedHashMap<>();
+	private final Map<String, String> errors = new LinkedHashMap<>();
+	private int outstanding;
+	private boolean closed;
+
+	// Constructor
+	/**
+	 * opens the journal and queues again the jobs that were not completed when the queue was closed or crashed
+	 * @param journalFile (Path) - the journal, created if it does not exist
+	 * @param outputDirectory (Path) - the directory of the images, created if it does not exist
+	 * @param concurrency (int) - jobs rendered at the same time
+	 * @throws IOException - in case that the journal or the directory can not be opened
+	 */
+	public RenderJobQueue(Path journalFile, Path outputDirectory, int concurrency) throws IOException {
+		if(concurrency <= 0)
+			throw new IllegalArgumentException("the render job queue concurrency must be positive");
+		this.outputDirectory = Files.createDirectories(outputDirectory).toAbsolutePath().normalize();
+		this.journal = new RenderJournal(journalFile);
+		this.workers = Executors.newFixedThreadPool(concurrency, new WorkerFactory());
+		for(RenderJob job : journal.getPending())
+			dispatch(job);
+	}
+
+	// Private Methods
+	private synchronized void dispatch(RenderJob job) {
+		outstanding++;
+		workers.execute(() -> run(job));
+	}
+
+	private synchronized void finished() {
+		outstanding--;
+		notifyAll();
+	}
+
+	private synchronized void defer(RenderJob job, IOException error) {
+		deferred.put(job.getId(), job);
+		errors.put(job.getId(), String.valueOf(error.getMessage()));
+	}
+
+	private Path target(RenderJob job) throws InvalidTextForgeConfigException {
+		Path target = outputDirectory.resolve(job.getOutput()).normalize();
+		if(!target.startsWith(outputDirectory) || target.equals(outputDirectory))
+			throw new InvalidTextForgeConfigException("the output of the render job " + job.getId() + " is outside the output directory");
+		return target;
+	}
+
+	/**
+	 * procedure that render the job into a temporary file and move it over the final name once it is on disk
+	 */
+	private void render(RenderJob job) throws IOException, InvalidTextForgeConfigException {
+		Path target = target(job);
+		Files.createDirectories(target.getParent());
+		Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+
+		ImageForge forge = job.toImageForge();
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel));
+				forge.forgeImage(output, job.getEncoder(), job.getSignature());
+				output.flush();
+				channel.force(true);
+			}
+			try {
+				Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			// nothing is left when the move succeeded
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * procedure that render the job and checkpoint it. A job interrupted by {@link #close()} or stopped by an
+	 * I/O error is left pending, only the jobs that would fail again are checkpointed as failed
+	 */
+	private void run(RenderJob job) {
+		try {
+			render(job);
+			journal.appendCompleted(job.getId());
+		} catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			if(!Thread.currentThread().isInterrupted())
+				defer(job, e);
+		} catch (InvalidTextForgeConfigException | RuntimeException e) {
+			try {
+				if(!Thread.currentThread().isInterrupted())
+					journal.appendFailed(job.getId(), String.valueOf(e.getMessage()));
+			} catch (IOException ignored) {
+				// the journal is closed or full, the job stays pending
+			}
+		} finally {
+			finished();
+		}
+	}
+
+	// Public Methods
+	/**
+	 * function that append the job to the journal and queue it
+	 * @param job (RenderJob) - the job
+	 * @return boolean - false if a job with the same id was already submitted, even in a previous run
+	 * @throws InvalidTextForgeConfigException - in case that the job is incomplete or its output is outside the output directory
+	 * @throws IOException - in case that the queue is closed or the journal can not be written
+	 */
+	public boolean submit(RenderJob job) throws InvalidTextForgeConfigException, IOException {
+		Objects.requireNonNull(job);
+		job.validate();
+		target(job);
+		synchronized (this) {
+			if(closed)
+				throw new IOException("The render job queue is closed");
+			if(!journal.appendSubmitted(job))
+				return false;
+			dispatch(job);
+			return true;
+		}
+	}
+
+	/**
+	 * function that queue again the jobs left pending by an I/O error in this run
+	 * @return int - the jobs queued again
+	 * @throws IOException - in case that the queue is closed
+	 */
+	public synchronized int retry() throws IOException {
+		if(closed)
+			throw new IOException("The render job queue is closed");
+		List<RenderJob> jobs = new ArrayList<>(deferred.values());
+		deferred.clear();
+		for(RenderJob job : jobs) {
+			errors.remove(job.getId());
+			dispatch(job);
+		}
+		return jobs.size();
+	}
+
+	/**
+	 * function that wait until every queued job is completed, failed or left pending by an I/O error
+	 * @param timeout (long) - the maximum time to wait
+	 * @param unit (TimeUnit) - the unit of the timeout
+	 * @return boolean - true if the queue is idle, false if the time elapsed first
+	 * @throws InterruptedException - when the thread is interrupted while waiting
+	 */
+	public synchronized boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while(outstanding > 0) {
+			long remaining = deadline - System.nanoTime();
+			if(remaining <= 0)
+				return false;
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+		return true;
+	}
+
+	/**
+	 * @return int - jobs queued or being rendered
+	 */
+	public synchronized int getOutstanding() {
+		return outstanding;
+	}
+
+	/**
+	 * @return int - jobs checkpointed as completed, including the previous runs on the journal
+	 */
+	public int getCompleted() {
+		return journal.getCompletedCount();
+	}
+
+	/**
+	 * @return Map - the cause of each failed job by id, including the previous runs on the journal
+	 */
+	public Map<String, String> getFailures() {
+		return journal.getFailures();
+	}
+
+	/**
+	 * @return Map - the I/O error of each job left pending in this run by id, until it is retried
+	 */
+	public synchronized Map<String, String> getErrors() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+	}
+
+	public Path getOutputDirectory() {
+		return outputDirectory;
+	}
+
+	/**
+	 * procedure that stop the workers without waiting for the queued jobs, they stay pending in the journal
+	 * and are rendered when the queue is opened again. Use {@link #awaitIdle(long, TimeUnit)} before to
+	 * drain the queue
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if(closed)
+				return;
+			closed = true;
+		}
+		workers.shutdownNow();
+		try {
+			while(!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+				// keep waiting for the running renders, the journal can not be closed under them
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the render workers");
+		} finally {
+			journal.close();
+		}
+	}
+
+	/**
+	 * Daemon workers named after the queue
+	 */
+	private static class WorkerFactory implements ThreadFactory {
+
+		private static final AtomicInteger QUEUES = new AtomicInteger();
+
+		private final int queue = QUEUES.incrementAndGet();
+		private final AtomicInteger workers = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "render-job-queue-" + queue + "-worker-" + workers.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
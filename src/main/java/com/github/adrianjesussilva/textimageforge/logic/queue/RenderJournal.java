@@ -0,0 +1,306 @@
+package com.github.adrianjesussilva.textimageforge.logic.queue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Memory mapped append-only journal of the render jobs, the only state the {@link RenderJobQueue} needs
+ * to resume after a crash.
+ *
+ * Every record is forced to disk before the append returns:
+ * <pre>
+ * file:   magic (int) | version (int) | records...
+ * record: length (int) | crc32 (int) | type (byte) | payload (length - 1 bytes)
+ * </pre>
+ * The records are never rewritten, a job is submitted once and later checkpointed as completed or failed.
+ * When the journal is opened the records are replayed until the first one that is not complete or does
+ * not match its crc, which is the tail torn by the crash, and the next records are written over it.
+ * The file is locked while the journal is open, a second journal (or queue) on it fails to open
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class RenderJournal implements Closeable {
+
+	// Constants
+	private static final int MAGIC = 0x544A524E;
+	private static final int VERSION = 1;
+	private static final int FILE_HEADER_SIZE = 8;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int INITIAL_SIZE = 1 << 20;
+	private static final int MAX_MESSAGE_LENGTH = 1024;
+
+	private static final byte SUBMITTED = 1;
+	private static final byte COMPLETED = 2;
+	private static final byte FAILED = 3;
+
+	// Attributes
+	private final Path file;
+	private final FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int position;
+	private boolean closed;
+
+	private final Map<String, RenderJob> pending = new LinkedHashMap<>();
+	private final Set<String> completed = new HashSet<>();
+	private final Map<String, String> failed = new LinkedHashMap<>();
+
+	// Constructor
+	/**
+	 * @param file (Path) - the journal, created if it does not exist
+	 * @throws IOException - in case that the file can not be mapped, is not a render journal or is already open
+	 */
+	public RenderJournal(Path file) throws IOException {
+		this.file = file;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			FileLock lock;
+			try {
+				lock = channel.tryLock();
+			} catch (OverlappingFileLockException e) {
+				// held by another channel of this process
+				lock = null;
+			}
+			if(Objects.isNull(lock))
+				throw new IOException("The render journal " + file + " is already open");
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE)
+				throw new IOException("The render journal " + file + " is bigger than it can be mapped");
+			// the header is checked before the mapping grows the file
+			if(size > 0) {
+				ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+				while(header.hasRemaining() && channel.read(header, header.position()) > 0) {
+					// read the whole header
+				}
+				if(header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+					throw new IOException("The file " + file + " is not a render journal");
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_SIZE));
+			if(size == 0) {
+				buffer.putInt(0, MAGIC);
+				buffer.putInt(4, VERSION);
+				buffer.force();
+				position = FILE_HEADER_SIZE;
+			} else {
+				replay();
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	// Private Methods
+	private static int crc(ByteBuffer buffer, int offset, int length) {
+		ByteBuffer slice = buffer.duplicate();
+		slice.position(offset);
+		slice.limit(offset + length);
+		CRC32 crc = new CRC32();
+		crc.update(slice);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * procedure that read all the complete records and rebuild the state of the jobs, a torn tail is
+	 * cleared so no stale bytes are taken as a record after new ones are written over it
+	 */
+	private void replay() throws IOException {
+		int capacity = buffer.capacity();
+		position = FILE_HEADER_SIZE;
+		while(position + RECORD_HEADER_SIZE <= capacity) {
+			int length = buffer.getInt(position);
+			if(length <= 0 || length > capacity - position - RECORD_HEADER_SIZE)
+				break;
+			int start = position + RECORD_HEADER_SIZE;
+			if(crc(buffer, start, length) != buffer.getInt(position + 4))
+				break;
+
+			byte[] payload = new byte[length - 1];
+			ByteBuffer record = buffer.duplicate();
+			record.position(start + 1);
+			record.get(payload);
+			apply(buffer.get(start), new DataInputStream(new ByteArrayInputStream(payload)));
+			position = start + length;
+		}
+		// the length is written last, so a torn record can leave its payload behind a zero length
+		int end = capacity;
+		while(end > position && buffer.get(end - 1) == 0)
+			end--;
+		for(int i = position; i < end; i++)
+			buffer.put(i, (byte) 0);
+	}
+
+	/**
+	 * procedure that apply a record to the state of the jobs
+	 */
+	private void apply(byte type, DataInputStream payload) throws IOException {
+		switch (type) {
+			case SUBMITTED:
+				RenderJob job = RenderJob.read(payload);
+				if(!completed.contains(job.getId()) && !failed.containsKey(job.getId()))
+					pending.put(job.getId(), job);
+				break;
+			case COMPLETED:
+				String id = payload.readUTF();
+				pending.remove(id);
+				completed.add(id);
+				break;
+			case FAILED:
+				String failedId = payload.readUTF();
+				pending.remove(failedId);
+				failed.put(failedId, payload.readUTF());
+				break;
+			default:
+				throw new IOException("The render journal " + file + " has an unknown record type " + type);
+		}
+	}
+
+	private void ensureCapacity(long required) throws IOException {
+		if(required <= buffer.capacity())
+			return;
+		if(required > Integer.MAX_VALUE)
+			throw new IOException("The render journal " + file + " is full");
+		long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+	}
+
+	/**
+	 * procedure that write the record after the last one and force it to disk
+	 */
+	private void append(byte type, byte[] payload) throws IOException {
+		if(closed)
+			throw new IOException("The render journal " + file + " is closed");
+		int length = payload.length + 1;
+		ensureCapacity((long) position + RECORD_HEADER_SIZE + length);
+
+		int start = position + RECORD_HEADER_SIZE;
+		buffer.put(start, type);
+		ByteBuffer record = buffer.duplicate();
+		record.position(start + 1);
+		record.put(payload);
+		buffer.putInt(position + 4, crc(buffer, start, length));
+		buffer.putInt(position, length);
+		buffer.force();
+		position = start + length;
+	}
+
+	private static byte[] checkpoint(String id, String message) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeUTF(id);
+			if(Objects.nonNull(message))
+				output.writeUTF(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+		}
+		return bytes.toByteArray();
+	}
+
+	// Public Methods
+	/**
+	 * function that append the job to the journal as pending
+	 * @param job (RenderJob) - the job, already validated
+	 * @return boolean - false if a job with the same id is already in the journal, nothing is written then
+	 * @throws IOException - in case that the record can not be written
+	 */
+	public synchronized boolean appendSubmitted(RenderJob job) throws IOException {
+		if(pending.containsKey(job.getId()) || completed.contains(job.getId()) || failed.containsKey(job.getId()))
+			return false;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			job.write(output);
+		}
+		append(SUBMITTED, bytes.toByteArray());
+		pending.put(job.getId(), job);
+		return true;
+	}
+
+	/**
+	 * procedure that checkpoint the job as completed, it will not be rendered again
+	 * @param id (String) - id of the job
+	 * @throws IOException - in case that the record can not be written
+	 */
+	public synchronized void appendCompleted(String id) throws IOException {
+		append(COMPLETED, checkpoint(id, null));
+		pending.remove(id);
+		completed.add(id);
+	}
+
+	/**
+	 * procedure that checkpoint the job as failed, it is not retried as it would fail again
+	 * @param id (String) - id of the job
+	 * @param message (String) - the cause, cut to its first 1024 characters
+	 * @throws IOException - in case that the record can not be written
+	 */
+	public synchronized void appendFailed(String id, String message) throws IOException {
+		String cause = Objects.isNull(message) ? "" : message;
+		append(FAILED, checkpoint(id, cause));
+		pending.remove(id);
+		failed.put(id, cause);
+	}
+
+	/**
+	 * @return List - the jobs submitted and not yet completed or failed, in the order they were submitted
+	 */
+	public synchronized List<RenderJob> getPending() {
+		return new ArrayList<>(pending.values());
+	}
+
+	/**
+	 * @param id (String) - id of the job
+	 * @return boolean - if the job was checkpointed as completed
+	 */
+	public synchronized boolean isCompleted(String id) {
+		return completed.contains(id);
+	}
+
+	public synchronized int getCompletedCount() {
+		return completed.size();
+	}
+
+	/**
+	 * @return Map - the cause of each failed job by id
+	 */
+	public synchronized Map<String, String> getFailures() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(failed));
+	}
+
+	/**
+	 * @return int - bytes of the journal used by the records
+	 */
+	public synchronized int getSize() {
+		return position;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if(closed)
+			return;
+		closed = true;
+		buffer.force();
+		channel.close();
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.github.adrianjesussilva.textimageforge.logic.raster;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+
+/**
+ * Coverage bitmaps of the glyphs of a font, rasterized once with the {@link RenderingProfile#BALANCED} hints
+ * and then only read, so any number of threads draw from them without locks.
+ *
+ * Each glyph is rasterized by Java2D, drawn alone in a {@link BufferedImage}, the first time it is drawn.
+ * The atlases of the last used fonts are kept in a concurrent map, a lookup only stamps the time of use of
+ * the atlas it finds; the least recently used one is dropped, and rasterized again if needed, when a new
+ * font passes the size of the cache, so neither the lookup nor the drawing take a lock
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+final class GlyphAtlas {
+
+	// Constants
+	private static final int LATIN = 256;
+	private static final int ATLAS_CACHE_SIZE = 32;
+	private static final RenderingProfile PROFILE = RenderingProfile.BALANCED;
+	private static final FontRenderContext FONT_RENDER_CONTEXT = PROFILE.getFontRenderContext();
+	private static final ConcurrentMap<Font, GlyphAtlas> ATLASES = new ConcurrentHashMap<>(ATLAS_CACHE_SIZE * 2);
+
+	// Attributes
+	private final Font font;
+	private final int ascent;
+	private final int descent;
+	private final Glyph[] latin = new Glyph[LATIN];
+	private final ConcurrentMap<Character, Glyph> others = new ConcurrentHashMap<>();
+	private volatile long lastUsed;
+
+	// Constructor
+	private GlyphAtlas(Font font) {
+		this.font = font;
+		LineMetrics metrics = font.getLineMetrics("", FONT_RENDER_CONTEXT);
+		this.ascent = (int) Math.ceil(metrics.getAscent());
+		this.descent = (int) Math.ceil(metrics.getDescent() + metrics.getLeading());
+		this.lastUsed = System.nanoTime();
+	}
+
+	// Private Methods
+	/**
+	 * procedure that drop the least recently used atlases while the cache is over its size, only called
+	 * when an atlas is added
+	 */
+	private static void evict() {
+		while(ATLASES.size() > ATLAS_CACHE_SIZE) {
+			Map.Entry<Font, GlyphAtlas> eldest = null;
+			for(Map.Entry<Font, GlyphAtlas> entry : ATLASES.entrySet())
+				if(eldest == null || entry.getValue().lastUsed < eldest.getValue().lastUsed)
+					eldest = entry;
+			if(eldest == null)
+				return;
+			ATLASES.remove(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	/**
+	 * function that draw the character alone and keep the coverage of the pixels it touched
+	 */
+	private Glyph rasterize(char character) {
+		char[] chars = {character};
+		float advance = (float) font.getStringBounds(chars, 0, 1, FONT_RENDER_CONTEXT).getWidth();
+		// room for the parts of the glyph out of its advance, as italics and accents
+		int pad = (int) Math.ceil(font.getSize2D()) + 2;
+		int originX = pad;
+		int originY = pad + ascent;
+		int boxWidth = Math.max((int) Math.ceil(advance), 1) + 2 * pad;
+		int boxHeight = ascent + descent + 2 * pad;
+
+		BufferedImage box = new BufferedImage(boxWidth, boxHeight, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2d = box.createGraphics();
+		PROFILE.applyTo(graphics2d);
+		graphics2d.setFont(font);
+		graphics2d.setColor(Color.BLACK);
+		graphics2d.drawChars(chars, 0, 1, originX, originY);
+		graphics2d.dispose();
+
+		int[] pixels = box.getRGB(0, 0, boxWidth, boxHeight, null, 0, boxWidth);
+		int minX = boxWidth, minY = boxHeight, maxX = -1, maxY = -1;
+		for(int y = 0; y < boxHeight; y++)
+			for(int x = 0; x < boxWidth; x++)
+				if((pixels[y * boxWidth + x] >>> 24) != 0) {
+					minX = Math.min(minX, x);
+					maxX = Math.max(maxX, x);
+					minY = Math.min(minY, y);
+					maxY = Math.max(maxY, y);
+				}
+		if(maxX < 0)
+			return new Glyph(advance, 0, 0, 0, 0, new byte[0], new int[0]);
+
+		int width = maxX - minX + 1;
+		int height = maxY - minY + 1;
+		byte[] coverage = new byte[width * height];
+		int[] runs = new int[width * height * 3];
+		int runCount = 0;
+		for(int y = 0; y < height; y++)
+			for(int x = 0; x < width; x++) {
+				coverage[y * width + x] = (byte) (pixels[(minY + y) * boxWidth + minX + x] >>> 24);
+				if(coverage[y * width + x] == 0)
+					continue;
+				if(x > 0 && coverage[y * width + x - 1] != 0) {
+					runs[runCount * 3 - 1]++;
+				} else {
+					runs[runCount * 3] = y;
+					runs[runCount * 3 + 1] = x;
+					runs[runCount * 3 + 2] = 1;
+					runCount++;
+				}
+			}
+		return new Glyph(advance, minX - originX, minY - originY, width, height, coverage, Arrays.copyOf(runs, runCount * 3));
+	}
+
+	// Public Methods
+	/**
+	 * function that give the atlas of the font, shared by the whole process
+	 * @param font (Font) - the font
+	 * @return GlyphAtlas - the atlas
+	 */
+	static GlyphAtlas of(Font font) {
+		GlyphAtlas atlas = ATLASES.get(font);
+		if(atlas == null) {
+			// a thread that loses the race uses the atlas of the winner
+			GlyphAtlas created = new GlyphAtlas(font);
+			atlas = ATLASES.putIfAbsent(font, created);
+			if(atlas == null) {
+				atlas = created;
+				evict();
+			}
+		}
+		atlas.lastUsed = System.nanoTime();
+		return atlas;
+	}
+
+	/**
+	 * function that tell if the character needs the layout of Java2D to be drawn, as the combining marks,
+	 * the right to left and Indic scripts and the surrogate pairs
+	 * @param character (char) - the character
+	 * @return boolean - if the glyphs can not be placed one after another
+	 */
+	static boolean isComplex(char character) {
+		return (character >= 0x0300 && character < 0x0370)
+				|| (character >= 0x0590 && character < 0x1E00)
+				|| (character >= 0x200C && character < 0x2010)
+				|| (character >= 0xFB1D && character < 0xFE00)
+				|| (character >= 0xFE70 && character < 0xFF00)
+				|| Character.isSurrogate(character);
+	}
+
+	/**
+	 * @param character (char) - the character
+	 * @return Glyph - the bitmap of the character
+	 */
+	Glyph glyph(char character) {
+		if(character < LATIN) {
+			// the glyphs are immutable, two threads may rasterize the same one but both see a complete glyph
+			Glyph glyph = latin[character];
+			if(glyph == null)
+				latin[character] = glyph = rasterize(character);
+			return glyph;
+		}
+		Glyph glyph = others.get(character);
+		return glyph != null ? glyph : others.computeIfAbsent(character, this::rasterize);
+	}
+
+	/**
+	 * Coverage of a glyph, placed from the pen position on the baseline, with the runs of covered pixels
+	 * as (row, column, length) so the blank pixels of the box are not visited. The advance is kept
+	 * fractional, the pen adds them up and is rounded per glyph
+	 */
+	static final class Glyph {
+
+		final float advance;
+		final int left;
+		final int top;
+		final int width;
+		final int height;
+		final byte[] coverage;
+		final int[] runs;
+
+		private Glyph(float advance, int left, int top, int width, int height, byte[] coverage, int[] runs) {
+			this.advance = advance;
+			this.left = left;
+			this.top = top;
+			this.width = width;
+			this.height = height;
+			this.coverage = coverage;
+			this.runs = runs;
+		}
+
+	}
+
+}
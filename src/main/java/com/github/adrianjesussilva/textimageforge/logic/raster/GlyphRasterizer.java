@@ -0,0 +1,195 @@
+package com.github.adrianjesussilva.textimageforge.logic.raster;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+import com.github.adrianjesussilva.textimageforge.logic.kernel.PixelKernels;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextStyle;
+
+/**
+ * Rasterizer that draws the text compositing the cached bitmaps of a {@link GlyphAtlas} straight into
+ * the pixel array of the image, without a Graphics2D per render.
+ *
+ * It is not free of AWT: the fonts are {@link java.awt.Font}, the canvas is a {@link BufferedImage} and
+ * every glyph is rasterized once by Java2D. What it saves is the Java2D pipeline and its locks once the
+ * glyphs of the fonts are cached. The glyphs are placed one after another as Java2D does for simple
+ * text, the lines with characters that need its layout ({@link GlyphAtlas#isComplex}) or in a font
+ * whose glyphs depend on their neighbours (kerning, ligatures, tracking or a transform) are still drawn
+ * by Graphics2D. Int rgb and gray images with antialiased text in whole pixels, as the
+ * {@link RenderingProfile#BALANCED} profile, are drawn by the glyphs, anything else is left to the
+ * {@link Java2DRasterizer}
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class GlyphRasterizer implements Rasterizer {
+
+	// Constants
+	public static final GlyphRasterizer INSTANCE = new GlyphRasterizer();
+
+	private static final int OPAQUE = 255;
+	private static final int OPAQUE_ALPHA = 0xFF000000;
+
+	// Private Methods
+	private static boolean isComplex(String text) {
+		for(int i = 0; i < text.length(); i++)
+			if(GlyphAtlas.isComplex(text.charAt(i)))
+				return true;
+		return false;
+	}
+
+	/**
+	 * function that tell if the glyphs of the font can not be placed one after another by their advances
+	 */
+	private static boolean needsLayout(Font font) {
+		return font.hasLayoutAttributes() || font.isTransformed();
+	}
+
+	/**
+	 * function that mix two channels, rounded as (ink * alpha + background * (255 - alpha) + 127) / 255
+	 * with the exact shift form of the division by 255
+	 */
+	private static int mix(int ink, int background, int alpha) {
+		int mixed = ink * alpha + background * (OPAQUE - alpha) + 127;
+		return (mixed + 1 + (mixed >> 8)) >> 8;
+	}
+
+	// Public Methods
+	@Override
+	public RasterCanvas createCanvas(int width, int height, int imageType, Color background, RenderingProfile profile) {
+		if((imageType != BufferedImage.TYPE_INT_RGB && imageType != BufferedImage.TYPE_INT_ARGB && imageType != BufferedImage.TYPE_BYTE_GRAY)
+				|| !profile.isAntialiasing() || profile.isFractionalMetrics())
+			return Java2DRasterizer.INSTANCE.createCanvas(width, height, imageType, background, profile);
+		return new Canvas(width, height, imageType, background, profile);
+	}
+
+	/**
+	 * Canvas over the int or byte array of the image
+	 */
+	private static class Canvas implements RasterCanvas {
+
+		private final BufferedImage image;
+		private final int width;
+		private final int height;
+		private final int[] rgbPixels;
+		private final byte[] grayPixels;
+		private final boolean alpha;
+		private final RenderingProfile profile;
+		private Graphics2D graphics2d;
+		private Font font;
+		private GlyphAtlas atlas;
+
+		private Canvas(int width, int height, int imageType, Color background, RenderingProfile profile) {
+			this.profile = profile;
+			this.image = new BufferedImage(width, height, imageType);
+			this.width = width;
+			this.height = height;
+			this.alpha = imageType == BufferedImage.TYPE_INT_ARGB;
+			if(imageType == BufferedImage.TYPE_BYTE_GRAY) {
+				rgbPixels = null;
+				grayPixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+				PixelKernels.selected().fill(grayPixels, 0, grayPixels.length, gray(background));
+			} else {
+				grayPixels = null;
+				rgbPixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+				PixelKernels.selected().fill(rgbPixels, 0, rgbPixels.length, alpha ? background.getRGB() : background.getRGB() & 0xFFFFFF);
+			}
+		}
+
+		/**
+		 * function that give the gray level Java2D stores for the color in gray images
+		 */
+		private byte gray(Color color) {
+			return (byte) ((77 * color.getRed() + 150 * color.getGreen() + 29 * color.getBlue() + 128) >> 8);
+		}
+
+		private void drawGlyph(GlyphAtlas.Glyph glyph, int penX, int baseline, int ink, int inkAlpha) {
+			int x0 = penX + glyph.left;
+			int y0 = baseline + glyph.top;
+			int fromX = Math.max(0, -x0);
+			int toX = Math.min(glyph.width, width - x0);
+			int fromY = Math.max(0, -y0);
+			int toY = Math.min(glyph.height, height - y0);
+			boolean clipped = fromX > 0 || fromY > 0 || toX < glyph.width || toY < glyph.height;
+			byte[] coverage = glyph.coverage;
+			int[] runs = glyph.runs;
+			int solid = alpha ? OPAQUE_ALPHA | ink : ink;
+			for(int run = 0; run < runs.length; run += 3) {
+				int y = runs[run];
+				int start = runs[run + 1];
+				int end = start + runs[run + 2];
+				if(clipped) {
+					if(y < fromY || y >= toY)
+						continue;
+					start = Math.max(start, fromX);
+					end = Math.min(end, toX);
+				}
+				int source = y * glyph.width;
+				int target = (y0 + y) * width + x0;
+				for(int x = start; x < end; x++) {
+					int a = coverage[source + x] & 0xFF;
+					if(inkAlpha != OPAQUE)
+						a = (a * inkAlpha + 127) / OPAQUE;
+					if(grayPixels != null)
+						grayPixels[target + x] = a == OPAQUE ? (byte) ink : (byte) mix(ink, grayPixels[target + x] & 0xFF, a);
+					else
+						rgbPixels[target + x] = a == OPAQUE ? solid : blend(rgbPixels[target + x], ink, a);
+				}
+			}
+		}
+
+		/**
+		 * function that mix the ink over the rgb pixel with the given coverage
+		 */
+		private int blend(int pixel, int ink, int a) {
+			int r = mix((ink >> 16) & 0xFF, (pixel >> 16) & 0xFF, a);
+			int g = mix((ink >> 8) & 0xFF, (pixel >> 8) & 0xFF, a);
+			int b = mix(ink & 0xFF, pixel & 0xFF, a);
+			int out = alpha ? a + ((pixel >>> 24) * (OPAQUE - a) + 127) / OPAQUE : 0;
+			return out << 24 | r << 16 | g << 8 | b;
+		}
+
+		@Override
+		public void drawText(String text, int xAxis, int yAxis, TextStyle style) {
+			if(isComplex(text) || needsLayout(style.getFont())) {
+				if(graphics2d == null) {
+					graphics2d = image.createGraphics();
+					profile.applyTo(graphics2d);
+				}
+				graphics2d.setPaint(style.getColor());
+				graphics2d.setFont(style.getFont());
+				graphics2d.drawString(text, xAxis, yAxis);
+				return;
+			}
+
+			// consecutive lines usually share the font
+			if(!style.getFont().equals(font)) {
+				font = style.getFont();
+				atlas = GlyphAtlas.of(font);
+			}
+			int ink = grayPixels != null ? gray(style.getColor()) & 0xFF : style.getColor().getRGB() & 0xFFFFFF;
+			int inkAlpha = style.getColor().getAlpha();
+			float penX = xAxis;
+			for(int i = 0; i < text.length(); i++) {
+				GlyphAtlas.Glyph glyph = atlas.glyph(text.charAt(i));
+				if(glyph.runs.length > 0)
+					drawGlyph(glyph, Math.round(penX), yAxis, ink, inkAlpha);
+				penX += glyph.advance;
+			}
+		}
+
+		@Override
+		public BufferedImage finish() {
+			if(graphics2d != null)
+				graphics2d.dispose();
+			return image;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.github.adrianjesussilva.textimageforge.logic.raster;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextStyle;
+
+/**
+ * Rasterizer that draws with Graphics2D on a {@link BufferedImage}, the default of the forge
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class Java2DRasterizer implements Rasterizer {
+
+	// Constants
+	public static final Java2DRasterizer INSTANCE = new Java2DRasterizer();
+
+	// Public Methods
+	@Override
+	public RasterCanvas createCanvas(int width, int height, int imageType, Color background, RenderingProfile profile) {
+		return new Canvas(width, height, imageType, background, profile);
+	}
+
+	/**
+	 * Canvas over the graphics of the image, the font and paint only change between lines that look different
+	 */
+	private static class Canvas implements RasterCanvas {
+
+		private final BufferedImage image;
+		private final Graphics2D graphics2d;
+		private TextStyle style;
+
+		private Canvas(int width, int height, int imageType, Color background, RenderingProfile profile) {
+			image = new BufferedImage(width, height, imageType);
+			graphics2d = image.createGraphics();
+			profile.applyTo(graphics2d);
+			graphics2d.setBackground(background);
+			graphics2d.setColor(background);
+			graphics2d.fillRect(0, 0, width, height);
+		}
+
+		@Override
+		public void drawText(String text, int xAxis, int yAxis, TextStyle style) {
+			if(style != this.style) {
+				this.style = style;
+				graphics2d.setPaint(style.getColor());
+				graphics2d.setFont(style.getFont());
+			}
+			graphics2d.drawString(text, xAxis, yAxis);
+		}
+
+		@Override
+		public BufferedImage finish() {
+			graphics2d.dispose();
+			return image;
+		}
+
+	}
+
+}
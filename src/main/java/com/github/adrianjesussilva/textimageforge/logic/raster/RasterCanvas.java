@@ -0,0 +1,30 @@
+package com.github.adrianjesussilva.textimageforge.logic.raster;
+
+import java.awt.image.BufferedImage;
+
+import com.github.adrianjesussilva.textimageforge.logic.text.TextStyle;
+
+/**
+ * Image being drawn by a {@link Rasterizer}, used by one thread for one render
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public interface RasterCanvas {
+
+	/**
+	 * procedure that draw a line of text
+	 * @param text (String) - the text
+	 * @param xAxis (int) - x coordinate where the text starts
+	 * @param yAxis (int) - y coordinate of the baseline
+	 * @param style (TextStyle) - font and color of the text
+	 */
+	void drawText(String text, int xAxis, int yAxis, TextStyle style);
+
+	/**
+	 * function that end the drawing, the canvas can not be used after it
+	 * @return BufferedImage - the drawn image
+	 */
+	BufferedImage finish();
+
+}
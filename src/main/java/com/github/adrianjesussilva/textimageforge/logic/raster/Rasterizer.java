@@ -0,0 +1,41 @@
+package com.github.adrianjesussilva.textimageforge.logic.raster;
+
+import java.awt.Color;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+
+/**
+ * Service provider interface of the backends that draw the text of the vouchers.
+ *
+ * {@link Java2DRasterizer} draws with Graphics2D and is the default, {@link GlyphRasterizer} composites
+ * cached glyph bitmaps into the pixel arrays. Other backends can be given to the forge builder
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public interface Rasterizer {
+
+	/**
+	 * function that create a canvas filled with the background
+	 * @param width (int) - width of the image
+	 * @param height (int) - height of the image
+	 * @param imageType (int) - type of the {@link java.awt.image.BufferedImage} to draw in
+	 * @param background (Color) - color of the background
+	 * @param profile (RenderingProfile) - hints of the drawing
+	 * @return RasterCanvas - the canvas to draw the lines in
+	 */
+	RasterCanvas createCanvas(int width, int height, int imageType, Color background, RenderingProfile profile);
+
+	/**
+	 * function that create a canvas filled with the background, drawn with the {@link RenderingProfile#BALANCED} hints
+	 * @param width (int) - width of the image
+	 * @param height (int) - height of the image
+	 * @param imageType (int) - type of the {@link java.awt.image.BufferedImage} to draw in
+	 * @param background (Color) - color of the background
+	 * @return RasterCanvas - the canvas to draw the lines in
+	 */
+	default RasterCanvas createCanvas(int width, int height, int imageType, Color background) {
+		return createCanvas(width, height, imageType, background, RenderingProfile.BALANCED);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.github.adrianjesussilva.textimageforge.logic.text;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+
+/**
+ * Metrics of a font used by the layout, measured once per font and render context.
+ *
+ * The advances of the ASCII characters are kept so the width of a simple line is a sum of floats in the
+ * same order Font.getStringBounds does it, giving the same result without its allocations; any other
+ * text, or any text of a font whose glyphs depend on their neighbours (kerning, ligatures, tracking or a
+ * transform), is measured by the font
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class FontLayoutMetrics {
+
+	// Constants
+	private static final int ASCII = 128;
+
+	// Attributes
+	private final Font font;
+	private final FontRenderContext fontRenderContext;
+	private final float ascent;
+	private final float descent;
+	private final float leading;
+	private final float height;
+	private final boolean simple;
+	private final float[] advances = new float[ASCII];
+
+	// Constructor
+	FontLayoutMetrics(Font font, FontRenderContext fontRenderContext) {
+		this.font = font;
+		this.fontRenderContext = fontRenderContext;
+		LineMetrics metrics = font.getLineMetrics("", fontRenderContext);
+		this.ascent = metrics.getAscent();
+		this.descent = metrics.getDescent();
+		this.leading = metrics.getLeading();
+		this.height = metrics.getHeight();
+		this.simple = !font.hasLayoutAttributes() && !font.isTransformed();
+		char[] character = new char[1];
+		for(char c = 0; c < ASCII; c++) {
+			character[0] = c;
+			advances[c] = (float) font.getStringBounds(character, 0, 1, fontRenderContext).getWidth();
+		}
+	}
+
+	// Public Methods
+	/**
+	 * function that measure the width of the text
+	 * @param text (String) - the text
+	 * @return float - the advance of the whole text
+	 */
+	public float stringWidth(String text) {
+		if(!simple)
+			return (float) font.getStringBounds(text, fontRenderContext).getWidth();
+		float width = 0;
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if(c >= ASCII)
+				return (float) font.getStringBounds(text, fontRenderContext).getWidth();
+			width += advances[c];
+		}
+		return width;
+	}
+
+	public Font getFont() {
+		return font;
+	}
+
+	public float getAscent() {
+		return ascent;
+	}
+
+	public float getDescent() {
+		return descent;
+	}
+
+	public float getLeading() {
+		return leading;
+	}
+
+	public float getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return int - the height of a line in whole pixels
+	 */
+	public int getLineHeight() {
+		return (int) Math.ceil(height);
+	}
+
+}
@@ -0,0 +1,262 @@
+package com.github.adrianjesussilva.textimageforge.logic.text;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.GraphicsEnvironment;
+import java.awt.font.FontRenderContext;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+
+/**
+ * Process wide registry of the fonts used by the vouchers.
+ *
+ * Bundled TTF/OTF fonts are loaded once, from the classpath or straight from a file, and registered in
+ * the graphics environment so they can also be found by name. Each file is a face of its family, a style
+ * is taken from its own face when it was registered and only derived from another face of the family when
+ * it was not. The sizes derived from them and the {@link FontLayoutMetrics} used by the layout are kept in
+ * bounded caches, so the font work is done once per process instead of once per request
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class FontRegistry {
+
+	// Constants
+	private static final FontRegistry GLOBAL = new FontRegistry();
+	private static final int DERIVED_CACHE_SIZE = 256;
+	private static final int METRICS_CACHE_SIZE = 128;
+
+	// Attributes
+	private final ConcurrentMap<String, Font> loaded = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Font> families = new ConcurrentHashMap<>();
+	private final ConcurrentMap<FontKey, Font> faces = new ConcurrentHashMap<>();
+	private final Map<FontKey, Font> derived = Collections.synchronizedMap(
+			new LinkedHashMap<FontKey, Font>(DERIVED_CACHE_SIZE, 0.75f, true) {
+				private static final long serialVersionUID = 4920398713366517283L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<FontKey, Font> eldest) {
+					return size() > DERIVED_CACHE_SIZE;
+				}
+			});
+	private final Map<MetricsKey, FontLayoutMetrics> metrics = Collections.synchronizedMap(
+			new LinkedHashMap<MetricsKey, FontLayoutMetrics>(METRICS_CACHE_SIZE, 0.75f, true) {
+				private static final long serialVersionUID = -6051328870431934492L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<MetricsKey, FontLayoutMetrics> eldest) {
+					return size() > METRICS_CACHE_SIZE;
+				}
+			});
+
+	// Private Methods
+	/**
+	 * function that give the style of the face, the fonts created from files are always plain so it is
+	 * read from the face name, as "DejaVu Sans Bold Oblique"
+	 */
+	private static int styleOf(Font font) {
+		String name = font.getFontName(Locale.ROOT).toLowerCase(Locale.ROOT);
+		String family = font.getFamily(Locale.ROOT).toLowerCase(Locale.ROOT);
+		if(name.startsWith(family))
+			name = name.substring(family.length());
+		int style = name.contains("bold") ? Font.BOLD : Font.PLAIN;
+		return name.contains("italic") || name.contains("oblique") ? style | Font.ITALIC : style;
+	}
+
+	private Font register(String key, FontSource source) throws InvalidTextForgeConfigException {
+		Font font = loaded.get(key);
+		if(Objects.nonNull(font))
+			return font;
+		synchronized (loaded) {
+			font = loaded.get(key);
+			if(Objects.isNull(font)) {
+				try {
+					font = source.create();
+				} catch (FontFormatException | IOException e) {
+					throw new InvalidTextForgeConfigException("The font " + key + " could not be loaded", e);
+				}
+				GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
+				int style = styleOf(font);
+				faces.putIfAbsent(new FontKey(font.getFamily(), style, 0), font);
+				// the plain face is the base of the styles without a face of their own
+				if(style == Font.PLAIN)
+					families.put(font.getFamily(), font);
+				else
+					families.putIfAbsent(font.getFamily(), font);
+				families.putIfAbsent(font.getFontName(), font);
+				loaded.put(key, font);
+				// the fonts derived before this face was known
+				derived.clear();
+			}
+			return font;
+		}
+	}
+
+	// Public Methods
+	/**
+	 * @return FontRegistry - the registry shared by the whole process
+	 */
+	public static FontRegistry global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * function that load a TTF/OTF font bundled in the classpath, only the first call reads it
+	 * @param resource (String) - absolute path of the resource, as "/fonts/CourierPrime-Regular.ttf"
+	 * @return Font - the loaded font with size 1
+	 * @throws InvalidTextForgeConfigException - in case that the resource is missing or is not a font
+	 */
+	public Font registerResource(String resource) throws InvalidTextForgeConfigException {
+		return register("classpath:" + resource, () -> {
+			InputStream input = FontRegistry.class.getResourceAsStream(resource);
+			if(Objects.isNull(input))
+				throw new IOException("The resource does not exist");
+			try (InputStream buffered = new BufferedInputStream(input)) {
+				return Font.createFont(Font.TRUETYPE_FONT, buffered);
+			}
+		});
+	}
+
+	/**
+	 * function that load a TTF/OTF font file, the font tables are read from the file in place instead of
+	 * being copied to a temporary file as it happens with streams
+	 * @param file (Path) - the font file
+	 * @return Font - the loaded font with size 1
+	 * @throws InvalidTextForgeConfigException - in case that the file is missing or is not a font
+	 */
+	public Font registerFile(Path file) throws InvalidTextForgeConfigException {
+		Path path = file.toAbsolutePath().normalize();
+		return register("file:" + path, () -> Font.createFont(Font.TRUETYPE_FONT, path.toFile()));
+	}
+
+	/**
+	 * function that give the font of the family with the given style and size, the registered face of the
+	 * style is used when there is one, else the style is derived from the other faces of the family, and any
+	 * other family is looked up in the system as new Font does
+	 * @param family (String) - the family or font name, as "Courier Prime" or {@link Font#MONOSPACED}
+	 * @param style (int) - {@link Font#PLAIN}, {@link Font#BOLD}, {@link Font#ITALIC}
+	 * @param size (float) - size in points
+	 * @return Font - the cached font
+	 */
+	public Font get(String family, int style, float size) {
+		FontKey key = new FontKey(family, style, size);
+		Font font = derived.get(key);
+		if(Objects.nonNull(font))
+			return font;
+		Font base = faces.get(new FontKey(family, style, 0));
+		if(Objects.isNull(base))
+			base = families.get(family);
+		if(Objects.nonNull(base))
+			font = base.deriveFont(style, size);
+		else {
+			font = new Font(family, style, Math.round(size));
+			if(size != Math.round(size))
+				font = font.deriveFont(size);
+		}
+		Font previous = derived.putIfAbsent(key, font);
+		return Objects.nonNull(previous) ? previous : font;
+	}
+
+	/**
+	 * function that give the layout metrics of the font, measured the first time they are requested
+	 * @param font (Font) - the font
+	 * @param fontRenderContext (FontRenderContext) - context of the measure
+	 * @return FontLayoutMetrics - the metrics
+	 */
+	public FontLayoutMetrics metrics(Font font, FontRenderContext fontRenderContext) {
+		MetricsKey key = new MetricsKey(font, fontRenderContext);
+		FontLayoutMetrics fontMetrics = metrics.get(key);
+		if(Objects.nonNull(fontMetrics))
+			return fontMetrics;
+		// measured out of the lock, a thread that loses the race uses the metrics of the winner
+		fontMetrics = new FontLayoutMetrics(font, fontRenderContext);
+		FontLayoutMetrics previous = metrics.putIfAbsent(key, fontMetrics);
+		return Objects.nonNull(previous) ? previous : fontMetrics;
+	}
+
+	/**
+	 * @param family (String) - the family or font name
+	 * @return boolean - if a font of the family was registered
+	 */
+	public boolean isRegistered(String family) {
+		return families.containsKey(family);
+	}
+
+	/**
+	 * Creation of a font from its source
+	 */
+	@FunctionalInterface
+	private interface FontSource {
+		Font create() throws FontFormatException, IOException;
+	}
+
+	/**
+	 * Key of the derived fonts, and of the registered faces with size 0
+	 */
+	private static final class FontKey {
+
+		private final String family;
+		private final int style;
+		private final float size;
+
+		private FontKey(String family, int style, float size) {
+			this.family = family;
+			this.style = style;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof FontKey))
+				return false;
+			FontKey key = (FontKey) other;
+			return style == key.style && Float.compare(size, key.size) == 0 && family.equals(key.family);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(family, style, size);
+		}
+
+	}
+
+	/**
+	 * Key of the metrics, the same font measures different with other render context
+	 */
+	private static final class MetricsKey {
+
+		private final Font font;
+		private final FontRenderContext fontRenderContext;
+
+		private MetricsKey(Font font, FontRenderContext fontRenderContext) {
+			this.font = font;
+			this.fontRenderContext = fontRenderContext;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof MetricsKey))
+				return false;
+			MetricsKey key = (MetricsKey) other;
+			return font.equals(key.font) && fontRenderContext.equals(key.fontRenderContext);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * font.hashCode() + fontRenderContext.hashCode();
+		}
+
+	}
+
+}
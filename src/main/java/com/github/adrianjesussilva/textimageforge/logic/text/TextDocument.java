@@ -0,0 +1,265 @@
+package com.github.adrianjesussilva.textimageforge.logic.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+
+/**
+ * Compact model of the lines of a document, meant for documents with thousands of lines.
+ *
+ * Instead of one {@link TextForge} per line the attributes are kept in parallel arrays (struct of arrays),
+ * the geometry as primitive ints and the font and color as an index to a table of interned {@link TextStyle},
+ * so a line costs a few bytes besides its text and the layout loops run over contiguous arrays
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class TextDocument {
+
+	// Constants
+	private static final int INITIAL_CAPACITY = 16;
+	private static final TextAlign[] ALIGNS = TextAlign.values();
+
+	// Attributes
+	private String[] texts;
+	private byte[] aligns;
+	private int[] styles;
+	private int[] widths;
+	private int[] heights;
+	private int[] xAxes;
+	private int[] yAxes;
+	private int size;
+
+	private final List<TextStyle> styleTable = new ArrayList<>();
+	private final Map<TextStyle, Integer> styleIndex = new HashMap<>();
+
+	// Constructor
+	public TextDocument() {
+		this(INITIAL_CAPACITY);
+	}
+
+	public TextDocument(int capacity) {
+		capacity = Math.max(1, capacity);
+		texts = new String[capacity];
+		aligns = new byte[capacity];
+		styles = new int[capacity];
+		widths = new int[capacity];
+		heights = new int[capacity];
+		xAxes = new int[capacity];
+		yAxes = new int[capacity];
+	}
+
+	// Private Methods
+	private void ensureCapacity(int capacity) {
+		if(capacity <= texts.length)
+			return;
+		int length = Math.max(capacity, texts.length + (texts.length >> 1));
+		texts = Arrays.copyOf(texts, length);
+		aligns = Arrays.copyOf(aligns, length);
+		styles = Arrays.copyOf(styles, length);
+		widths = Arrays.copyOf(widths, length);
+		heights = Arrays.copyOf(heights, length);
+		xAxes = Arrays.copyOf(xAxes, length);
+		yAxes = Arrays.copyOf(yAxes, length);
+	}
+
+	private void checkIndex(int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("line " + index + " of " + size);
+	}
+
+	private int append(String text, TextAlign textAlign, Font font, Color color) {
+		ensureCapacity(size + 1);
+		texts[size] = text;
+		aligns[size] = (byte) textAlign.ordinal();
+		styles[size] = intern(font, color);
+		return size++;
+	}
+
+	// Public Methods
+	/**
+	 * function that build a document with the given lines
+	 * @param lines (Collection) - lines to copy
+	 * @return TextDocument - the document
+	 * @throws InvalidTextForgeConfigException - in case that a line has no align, font or color
+	 */
+	public static TextDocument of(Collection<TextForge> lines) throws InvalidTextForgeConfigException {
+		TextDocument document = new TextDocument(lines.size());
+		for(TextForge line : lines)
+			document.add(line);
+		return document;
+	}
+
+	/**
+	 * function that give the index of the style, adding it to the table if it is new
+	 * @param font (Font) - font of the style
+	 * @param color (Color) - color of the style
+	 * @return int - index of the style in the table
+	 */
+	public int intern(Font font, Color color) {
+		TextStyle style = new TextStyle(font, color);
+		Integer index = styleIndex.get(style);
+		if(Objects.isNull(index)) {
+			index = styleTable.size();
+			styleTable.add(style);
+			styleIndex.put(style, index);
+		}
+		return index;
+	}
+
+	/**
+	 * function that append a line
+	 * @param text (String) - text of the line
+	 * @param textAlign (TextAlign) - align of the line
+	 * @param font (Font) - font of the line
+	 * @param color (Color) - color of the line
+	 * @return int - index of the new line
+	 * @throws InvalidTextForgeConfigException - in case that the align, font or color is missing
+	 */
+	public int add(String text, TextAlign textAlign, Font font, Color color) throws InvalidTextForgeConfigException {
+		// Validate that the info is complete
+		if(Objects.isNull(textAlign))
+			throw new InvalidTextForgeConfigException("a text aling must be defined");
+		if(Objects.isNull(font))
+			throw new InvalidTextForgeConfigException("A font is required for the line");
+		if(Objects.isNull(color))
+			throw new InvalidTextForgeConfigException("the text require a color definition");
+		return append(text, textAlign, font, color);
+	}
+
+	/**
+	 * function that append a copy of the given line, its geometry is not copied
+	 * @param line (TextForge) - the line
+	 * @return int - index of the new line
+	 * @throws InvalidTextForgeConfigException - in case that the align, font or color is missing
+	 */
+	public int add(TextForge line) throws InvalidTextForgeConfigException {
+		return add(line.getText(), line.getTextAlign(), line.getFont(), line.getColor());
+	}
+
+	/**
+	 * procedure that append all the lines of other document, they were validated when added to it
+	 * @param document (TextDocument) - the lines to append
+	 */
+	public void addAll(TextDocument document) {
+		ensureCapacity(size + document.size);
+		for(int i = 0; i < document.size; i++) {
+			TextStyle style = document.styleTable.get(document.styles[i]);
+			append(document.texts[i], ALIGNS[document.aligns[i]], style.getFont(), style.getColor());
+		}
+	}
+
+	/**
+	 * function that give the line as a {@link TextForge}, a new object with the current geometry
+	 * @param index (int) - index of the line
+	 * @return TextForge - copy of the line
+	 */
+	public TextForge get(int index) {
+		checkIndex(index);
+		TextStyle style = getStyle(index);
+		TextForge line = new TextForge(texts[index], getTextAlign(index), style.getFont(), style.getColor());
+		line.setWidth(widths[index]);
+		line.setHeight(heights[index]);
+		line.setXAxis(xAxes[index]);
+		line.setYAxis(yAxes[index]);
+		return line;
+	}
+
+	/**
+	 * procedure that measure the width and height of every line with the metrics of the {@link FontRegistry},
+	 * which are measured once per font in the whole process
+	 * @param fontRenderContext (FontRenderContext) - context of the measure
+	 */
+	public void measure(FontRenderContext fontRenderContext) {
+		FontLayoutMetrics[] styleMetrics = new FontLayoutMetrics[styleTable.size()];
+		for(int s = 0; s < styleMetrics.length; s++)
+			styleMetrics[s] = FontRegistry.global().metrics(styleTable.get(s).getFont(), fontRenderContext);
+
+		for(int i = 0; i < size; i++) {
+			FontLayoutMetrics metrics = styleMetrics[styles[i]];
+			widths[i] = (int) Math.ceil(metrics.stringWidth(texts[i]));
+			heights[i] = metrics.getLineHeight();
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public String getText(int index) {
+		checkIndex(index);
+		return texts[index];
+	}
+
+	public TextAlign getTextAlign(int index) {
+		checkIndex(index);
+		return ALIGNS[aligns[index]];
+	}
+
+	public int getStyleIndex(int index) {
+		checkIndex(index);
+		return styles[index];
+	}
+
+	public TextStyle getStyle(int index) {
+		return styleTable.get(getStyleIndex(index));
+	}
+
+	/**
+	 * @return int - number of different styles of the document
+	 */
+	public int getStyleCount() {
+		return styleTable.size();
+	}
+
+	/**
+	 * @param styleIndex (int) - index in the style table
+	 * @return TextStyle - the style
+	 */
+	public TextStyle getStyleAt(int styleIndex) {
+		return styleTable.get(styleIndex);
+	}
+
+	public int getWidth(int index) {
+		checkIndex(index);
+		return widths[index];
+	}
+
+	public int getHeight(int index) {
+		checkIndex(index);
+		return heights[index];
+	}
+
+	public int getXAxis(int index) {
+		checkIndex(index);
+		return xAxes[index];
+	}
+
+	public int getYAxis(int index) {
+		checkIndex(index);
+		return yAxes[index];
+	}
+
+	/**
+	 * procedure that place the line in the image
+	 * @param index (int) - index of the line
+	 * @param xAxis (int) - x coordinate
+	 * @param yAxis (int) - y coordinate of the baseline
+	 */
+	public void setPosition(int index, int xAxis, int yAxis) {
+		checkIndex(index);
+		xAxes[index] = xAxis;
+		yAxes[index] = yAxis;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.github.adrianjesussilva.textimageforge.logic.text;
+
+import java.awt.Color;
+import java.awt.Font;
+
+import lombok.Value;
+
+/**
+ * Immutable font and color of a text, shared by all the lines of a {@link TextDocument} that look the same
+ * 
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Value
+public class TextStyle {
+
+	// Attributes
+	private Font font;
+	private Color color;
+	
+}
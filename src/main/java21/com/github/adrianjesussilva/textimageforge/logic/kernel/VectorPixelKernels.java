@@ -0,0 +1,126 @@
+package com.github.adrianjesussilva.textimageforge.logic.kernel;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels written with the incubating Vector API, only compiled into the Java 21 part of the
+ * multi-release jar and loaded by {@link KernelSelector}. They give the same pixels as the
+ * {@link ScalarPixelKernels}, which also handle the tails shorter than a vector
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+final class VectorPixelKernels implements PixelKernels {
+
+	// Constants
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	/** bytes with as many lanes as INTS, to widen coverage and narrow gray levels */
+	private static final VectorSpecies<Byte> INT_BYTES = VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.vectorBitSize() / 4));
+	private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+	private static final int MIN_BITS = 256;
+	private static final int OPAQUE = 255;
+	private static final int OPAQUE_ALPHA = 0xFF000000;
+
+	private static final ScalarPixelKernels SCALAR = ScalarPixelKernels.INSTANCE;
+
+	// Constructor
+	VectorPixelKernels() {
+	}
+
+	// Private Methods
+	/**
+	 * function that multiply the lanes as fractions of 255, as {@link ScalarPixelKernels#multiply(int, int)}
+	 */
+	private static IntVector multiply(IntVector value, IntVector alpha) {
+		return alpha.mul(ScalarPixelKernels.BY_OPAQUE).mul(value).add(ScalarPixelKernels.HALF).lanewise(VectorOperators.LSHR, 24);
+	}
+
+	// Public Methods
+	/**
+	 * function that tell if the kernels pay off in this machine, narrower vectors do not beat the loops
+	 * the JIT already vectorizes. {@link KernelSelector} asks it before creating the kernels
+	 * @return boolean - if the preferred vectors are wide enough
+	 */
+	static boolean isSupported() {
+		return INTS.vectorBitSize() >= MIN_BITS && BYTES.length() <= Long.SIZE;
+	}
+
+	/**
+	 * the fills stay on Arrays.fill, the JIT already turns it into wide stores and a vector loop was
+	 * slower in the benchmark
+	 */
+	@Override
+	public void fill(int[] pixels, int from, int to, int value) {
+		SCALAR.fill(pixels, from, to, value);
+	}
+
+	@Override
+	public void fill(byte[] pixels, int from, int to, byte value) {
+		SCALAR.fill(pixels, from, to, value);
+	}
+
+	@Override
+	public void luminance(int[] rgb, int rgbOffset, byte[] gray, int grayOffset, int count) {
+		int i = 0;
+		for(int bound = INTS.loopBound(count); i < bound; i += INTS.length()) {
+			IntVector pixel = IntVector.fromArray(INTS, rgb, rgbOffset + i);
+			IntVector r = pixel.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+			IntVector g = pixel.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+			IntVector b = pixel.and(0xFF);
+			IntVector level = r.mul(77).add(g.mul(150)).add(b.mul(29)).add(128).lanewise(VectorOperators.LSHR, 8);
+			((ByteVector) level.convertShape(VectorOperators.I2B, INT_BYTES, 0)).intoArray(gray, grayOffset + i);
+		}
+		SCALAR.luminance(rgb, rgbOffset + i, gray, grayOffset + i, count - i);
+	}
+
+	@Override
+	public void threshold(byte[] gray, int grayOffset, byte[] packed, int packedOffset, int count, int threshold) {
+		if(threshold <= 0 || threshold > OPAQUE) {
+			SCALAR.threshold(gray, grayOffset, packed, packedOffset, count, threshold);
+			return;
+		}
+		// unsigned compare as signed one with the sign bit flipped on both sides
+		byte bias = (byte) 0x80;
+		byte limit = (byte) (threshold ^ 0x80);
+		int i = 0;
+		for(int bound = BYTES.loopBound(count); i < bound; i += BYTES.length()) {
+			VectorMask<Byte> white = ByteVector.fromArray(BYTES, gray, grayOffset + i).lanewise(VectorOperators.XOR, bias)
+					.compare(VectorOperators.GE, limit);
+			// lane 0 is the least significant bit of the mask and the most significant bit of its byte
+			long bits = Long.reverseBytes(Long.reverse(white.toLong()));
+			int target = packedOffset + (i >> 3);
+			for(int b = 0; b < BYTES.length() >> 3; b++)
+				packed[target + b] = (byte) (bits >>> (b << 3));
+		}
+		SCALAR.threshold(gray, grayOffset + i, packed, packedOffset + (i >> 3), count - i, threshold);
+	}
+
+	@Override
+	public void composite(int[] pixels, int offset, byte[] coverage, int coverageOffset, int count, int ink) {
+		int inkR = (ink >> 16) & 0xFF;
+		int inkG = (ink >> 8) & 0xFF;
+		int inkB = ink & 0xFF;
+		int i = 0;
+		for(int bound = INTS.loopBound(count); i < bound; i += INTS.length()) {
+			IntVector alpha = ((IntVector) ByteVector.fromArray(INT_BYTES, coverage, coverageOffset + i)
+					.convertShape(VectorOperators.B2I, INTS, 0)).and(0xFF);
+			VectorMask<Integer> covered = alpha.compare(VectorOperators.NE, 0);
+			if(!covered.anyTrue())
+				continue;
+			IntVector inverse = alpha.neg().add(OPAQUE);
+			IntVector background = IntVector.fromArray(INTS, pixels, offset + i);
+			IntVector r = multiply(alpha, IntVector.broadcast(INTS, inkR)).add(multiply(background.lanewise(VectorOperators.LSHR, 16).and(0xFF), inverse));
+			IntVector g = multiply(alpha, IntVector.broadcast(INTS, inkG)).add(multiply(background.lanewise(VectorOperators.LSHR, 8).and(0xFF), inverse));
+			IntVector b = multiply(alpha, IntVector.broadcast(INTS, inkB)).add(multiply(background.and(0xFF), inverse));
+			IntVector blended = r.lanewise(VectorOperators.LSHL, 16).or(g.lanewise(VectorOperators.LSHL, 8)).or(b).or(OPAQUE_ALPHA);
+			background.blend(blended, covered).intoArray(pixels, offset + i);
+		}
+		SCALAR.composite(pixels, offset + i, coverage, coverageOffset + i, count - i, ink);
+	}
+
+}
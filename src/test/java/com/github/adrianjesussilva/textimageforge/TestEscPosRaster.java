@@ -0,0 +1,208 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.PrinterPaper;
+import com.github.adrianjesussilva.textimageforge.logic.codec.EscPosRasterWriter;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the ESC/POS raster output for thermal printers
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestEscPosRaster {
+
+	// private methods
+	private BufferedImage twoDots(int type) {
+		BufferedImage image = new BufferedImage(10, 3, type);
+		Graphics2D graphics2d = image.createGraphics();
+		graphics2d.setColor(Color.WHITE);
+		graphics2d.fillRect(0, 0, 10, 3);
+		graphics2d.dispose();
+		image.setRGB(0, 0, Color.BLACK.getRGB());
+		image.setRGB(9, 2, Color.BLACK.getRGB());
+		return image;
+	}
+
+	private byte[] write(EscPosRasterWriter writer, BufferedImage image) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		writer.write(image, output);
+		return output.toByteArray();
+	}
+
+	private String signature() throws IOException {
+		BufferedImage image = new BufferedImage(200, 60, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2d = image.createGraphics();
+		graphics2d.setColor(Color.BLACK);
+		graphics2d.setStroke(new BasicStroke(4));
+		graphics2d.drawLine(10, 50, 190, 10);
+		graphics2d.dispose();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+		return Base64.encodeBase64String(output.toByteArray());
+	}
+
+	/**
+	 * Test to validate the bytes of a command, the same for a packed binary image and a rgb image
+	 */
+	@Test
+	@DisplayName("Test 00 Command")
+	void test00Command() throws IOException {
+		log.info("Starting command");
+
+		byte[] expected = {0x1D, 'v', '0', 0, 2, 0, 3, 0,
+				(byte) 0x80, 0x00,
+				0x00, 0x00,
+				0x00, 0x40};
+		EscPosRasterWriter writer = new EscPosRasterWriter(0);
+		assertArrayEquals(expected, write(writer, twoDots(BufferedImage.TYPE_INT_RGB)));
+		assertArrayEquals(expected, write(writer, twoDots(BufferedImage.TYPE_BYTE_BINARY)));
+		assertEquals(expected.length, writer.commandSize(10, 3));
+
+		log.info("Ending command");
+	}
+
+	/**
+	 * Test to validate the split of the image in bands of the given rows
+	 */
+	@Test
+	@DisplayName("Test 01 Bands")
+	void test01Bands() throws IOException {
+		log.info("Starting bands");
+
+		EscPosRasterWriter writer = new EscPosRasterWriter(24);
+		byte[] commands = write(writer, new BufferedImage(16, 100, BufferedImage.TYPE_BYTE_BINARY));
+		assertEquals(writer.commandSize(16, 100), commands.length);
+
+		int[] expectedRows = {24, 24, 24, 24, 4};
+		int position = 0;
+		for(int rows : expectedRows) {
+			assertEquals(0x1D, commands[position]);
+			assertEquals(rows, (commands[position + 6] & 0xFF) | (commands[position + 7] & 0xFF) << 8);
+			position += 8 + 2 * rows;
+		}
+		assertEquals(commands.length, position);
+
+		log.info("Ending bands");
+	}
+
+	/**
+	 * Test to validate a voucher printed at the dots of the paper
+	 */
+	@Test
+	@DisplayName("Test 02 Voucher")
+	void test02Voucher() throws Exception {
+		log.info("Starting voucher");
+
+		ImageForge forge = ImageForge.builder().build();
+		forge.addLine("VOUCHER 000123");
+		forge.addLine("TOTAL 1,234.50");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		forge.forgeEscPos(output, PrinterPaper.MM58, signature(), 64);
+		byte[] commands = output.toByteArray();
+
+		int position = 0;
+		int rows = 0;
+		int dots = 0;
+		while(position < commands.length) {
+			assertEquals(0x1D, commands[position]);
+			assertEquals(PrinterPaper.MM58.getBytesPerRow(), (commands[position + 4] & 0xFF) | (commands[position + 5] & 0xFF) << 8);
+			int bandRows = (commands[position + 6] & 0xFF) | (commands[position + 7] & 0xFF) << 8;
+			assertTrue(bandRows <= 64);
+			for(int i = 0; i < bandRows * PrinterPaper.MM58.getBytesPerRow(); i++)
+				dots += Integer.bitCount(commands[position + 8 + i] & 0xFF);
+			rows += bandRows;
+			position += 8 + bandRows * PrinterPaper.MM58.getBytesPerRow();
+		}
+		assertEquals(commands.length, position);
+		assertTrue(rows > 60, "The text and the signature should take some rows");
+		assertTrue(dots > 100, "The text and the signature should be printed");
+		// the top margin is paper
+		for(int i = 0; i < PrinterPaper.MM58.getBytesPerRow(); i++)
+			assertEquals(0, commands[8 + i]);
+
+		log.info("Ending voucher");
+	}
+
+	/**
+	 * Test to validate that a print does not change the width and profile of the forge
+	 */
+	@Test
+	@DisplayName("Test 03 Forge kept")
+	void test03ForgeKept() throws Exception {
+		log.info("Starting forge kept");
+
+		ImageForge printed = ImageForge.builder().build();
+		printed.addLine("VOUCHER 000123");
+		ImageForge unprinted = ImageForge.builder().build();
+		unprinted.addLine("VOUCHER 000123");
+		printed.forgeEscPos(new ByteArrayOutputStream(), PrinterPaper.MM58, null);
+		assertArrayEquals(unprinted.forgeImage(ImageEncoder.raw), printed.forgeImage(ImageEncoder.raw), "The image should keep the dynamic width of the forge");
+
+		ImageForge forge = ImageForge.builder().build();
+		forge.addLine("VOUCHER 000123");
+		forge.forgeEscPos(new ByteArrayOutputStream(), PrinterPaper.MM58, signature());
+
+		// the image after the print is drawn as the default balanced profile, signature included
+		BufferedImage image = forge.forgeImage(ImageEncoder.png, signature());
+		assertEquals(BufferedImage.TYPE_INT_RGB, image.getType());
+		boolean gray = false;
+		for(int y = 0; y < image.getHeight() && !gray; y++)
+			for(int x = 0; x < image.getWidth() && !gray; x++) {
+				int rgb = image.getRGB(x, y) & 0xFFFFFF;
+				gray = rgb != 0 && rgb != 0xFFFFFF;
+			}
+		assertTrue(gray, "The text and the signature should keep their antialiased edges");
+
+		log.info("Ending forge kept");
+	}
+
+	/**
+	 * Test to validate that the lines wider than the paper are rejected instead of cut
+	 */
+	@Test
+	@DisplayName("Test 04 Wider than paper")
+	void test04WiderThanPaper() throws Exception {
+		log.info("Starting wider than paper");
+
+		ImageForge forge = ImageForge.builder().build();
+		forge.addLine("VOUCHER 000123");
+		forge.addLine("MERCHANT 000123 TERMINAL 0042 BATCH 000017 TOTAL 1,234.50");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertThrows(InvalidTextForgeConfigException.class, () -> forge.forgeEscPos(output, PrinterPaper.MM58, null));
+		assertEquals(0, output.size(), "Nothing should be printed");
+
+		// the same voucher fits in the wider paper
+		forge.forgeEscPos(output, PrinterPaper.MM80, null);
+		assertTrue(output.size() > 0);
+
+		log.info("Ending wider than paper");
+	}
+
+}
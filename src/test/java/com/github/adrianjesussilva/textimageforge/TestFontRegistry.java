@@ -0,0 +1,152 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Font;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextAttribute;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.text.FontLayoutMetrics;
+import com.github.adrianjesussilva.textimageforge.logic.text.FontRegistry;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the shared font registry
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestFontRegistry {
+
+	private static final FontRenderContext FONT_RENDER_CONTEXT = new FontRenderContext(null, RenderingHints.VALUE_TEXT_ANTIALIAS_ON, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+
+	// private methods
+	private Optional<Path> systemFontFile() throws IOException {
+		Path fonts = Paths.get("/usr/share/fonts");
+		if(!Files.isDirectory(fonts))
+			return Optional.empty();
+		try (Stream<Path> files = Files.walk(fonts)) {
+			return files.filter(file -> file.toString().toLowerCase().endsWith(".ttf")).sorted().findFirst();
+		}
+	}
+
+	private float width(Font font) {
+		return (float) font.getStringBounds("TOTAL 1,234.50", FONT_RENDER_CONTEXT).getWidth();
+	}
+
+	/**
+	 * Test to validate that the derived fonts are cached and equal to the fonts created by hand
+	 */
+	@Test
+	@DisplayName("Test 00 Derived fonts")
+	void test00DerivedFonts() {
+		log.info("Starting derived fonts");
+
+		FontRegistry registry = FontRegistry.global();
+		Font font = registry.get(Font.MONOSPACED, Font.PLAIN, 12);
+
+		assertEquals(new Font(Font.MONOSPACED, Font.PLAIN, 12), font);
+		assertSame(font, registry.get(Font.MONOSPACED, Font.PLAIN, 12));
+		assertEquals(new Font(Font.MONOSPACED, Font.BOLD, 12).deriveFont(10.5f), registry.get(Font.MONOSPACED, Font.BOLD, 10.5f));
+
+		log.info("Ending derived fonts");
+	}
+
+	/**
+	 * Test to validate that the cached metrics measure the same than the font
+	 */
+	@Test
+	@DisplayName("Test 01 Metrics")
+	void test01Metrics() {
+		log.info("Starting metrics");
+
+		Font font = FontRegistry.global().get(Font.SANS_SERIF, Font.BOLD, 14);
+		FontLayoutMetrics metrics = FontRegistry.global().metrics(font, FONT_RENDER_CONTEXT);
+
+		assertSame(metrics, FontRegistry.global().metrics(font.deriveFont(14f), FONT_RENDER_CONTEXT));
+		assertEquals((int) Math.ceil(font.getLineMetrics("", FONT_RENDER_CONTEXT).getHeight()), metrics.getLineHeight());
+		for(String text : new String[] {"", "TOTAL 1,234.50", "Se\u00f1or Pe\u00f1a", "\tWWW iii ..."})
+			assertEquals((float) font.getStringBounds(text, FONT_RENDER_CONTEXT).getWidth(), metrics.stringWidth(text), text);
+
+		// the pairs of a kerned font are narrower than their single advances
+		Font kerned = new Font(Font.SANS_SERIF, Font.PLAIN, 20).deriveFont(Collections.singletonMap(TextAttribute.KERNING, TextAttribute.KERNING_ON));
+		String pairs = "AVAWAVAT To Ty Yo";
+		assertEquals((float) kerned.getStringBounds(pairs, FONT_RENDER_CONTEXT).getWidth(), FontRegistry.global().metrics(kerned, FONT_RENDER_CONTEXT).stringWidth(pairs), pairs);
+
+		log.info("Ending metrics");
+	}
+
+	/**
+	 * Test to validate the load of the font files, only once and reachable by its family
+	 */
+	@Test
+	@DisplayName("Test 02 Load fonts")
+	void test02LoadFonts() throws Exception {
+		log.info("Starting load fonts");
+
+		FontRegistry registry = FontRegistry.global();
+		assertThrows(InvalidTextForgeConfigException.class, () -> registry.registerResource("/fonts/missing.ttf"));
+
+		Optional<Path> file = systemFontFile();
+		assumeTrue(file.isPresent(), "There is no font file to load");
+
+		Font font = registry.registerFile(file.get());
+		assertSame(font, registry.registerFile(file.get()));
+		assertTrue(registry.isRegistered(font.getFamily()));
+		assertEquals(font.deriveFont(Font.PLAIN, 16f), registry.get(font.getFamily(), Font.PLAIN, 16f));
+
+		log.info("Ending load fonts");
+	}
+
+	/**
+	 * Test to validate that a style is taken from its registered face instead of derived from another one
+	 */
+	@Test
+	@DisplayName("Test 03 Registered faces")
+	void test03RegisteredFaces() throws Exception {
+		log.info("Starting registered faces");
+
+		Path plainFile = Paths.get("/usr/share/fonts/truetype/dejavu/DejaVuSansMono.ttf");
+		Path boldFile = Paths.get("/usr/share/fonts/truetype/dejavu/DejaVuSansMono-Bold.ttf");
+		assumeTrue(Files.isRegularFile(plainFile) && Files.isRegularFile(boldFile), "There are no plain and bold faces to load");
+
+		FontRegistry registry = new FontRegistry();
+		Font plain = registry.registerFile(plainFile);
+		String family = plain.getFamily();
+		// without the bold face the style is derived from the plain one
+		Font synthetic = registry.get(family, Font.BOLD, 16f);
+		assertEquals(plain.deriveFont(Font.BOLD, 16f), synthetic);
+
+		Font bold = registry.registerFile(boldFile);
+		assertEquals(family, bold.getFamily());
+		Font face = registry.get(family, Font.BOLD, 16f);
+		assertEquals(bold.deriveFont(Font.BOLD, 16f), face);
+		assertEquals(width(bold.deriveFont(16f)), width(face));
+		assertEquals(plain.deriveFont(Font.PLAIN, 16f), registry.get(family, Font.PLAIN, 16f), "The plain face should stay the base of the family");
+		assertEquals(bold.deriveFont(Font.ITALIC, 16f).getFontName(), registry.get(bold.getFontName(), Font.ITALIC, 16f).getFontName());
+
+		log.info("Ending registered faces");
+	}
+
+}
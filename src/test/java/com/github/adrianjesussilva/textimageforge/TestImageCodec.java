@@ -0,0 +1,137 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.logic.codec.ImageCodec;
+import com.github.adrianjesussilva.textimageforge.logic.codec.QoiCodec;
+import com.github.adrianjesussilva.textimageforge.logic.codec.RawRasterCodec;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the raster codecs, qoi and raw must give back exactly the encoded pixels
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestImageCodec {
+
+	// private methods
+	private BufferedImage image(int type) {
+		BufferedImage image = new BufferedImage(97, 41, type);
+		Graphics2D graphics2d = image.createGraphics();
+		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics2d.setColor(Color.WHITE);
+		graphics2d.fillRect(0, 0, 60, 41);
+		graphics2d.setColor(Color.BLACK);
+		graphics2d.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+		graphics2d.drawString("TOTAL 12.50", 2, 20);
+		graphics2d.dispose();
+		// some noise so every chunk of the formats is used
+		Random random = new Random(41);
+		for(int i = 0; i < 300; i++)
+			image.setRGB(random.nextInt(97), random.nextInt(41), random.nextInt());
+		return image;
+	}
+
+	private void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		int[] expectedPixels = expected.getRGB(0, 0, expected.getWidth(), expected.getHeight(), null, 0, expected.getWidth());
+		int[] actualPixels = actual.getRGB(0, 0, actual.getWidth(), actual.getHeight(), null, 0, actual.getWidth());
+		assertArrayEquals(expectedPixels, actualPixels);
+	}
+
+	private BufferedImage roundTrip(ImageCodec codec, BufferedImage image) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		codec.write(image, output);
+		return codec.read(new ByteArrayInputStream(output.toByteArray()));
+	}
+
+	/**
+	 * Test to validate the lossless round trip of qoi
+	 */
+	@Test
+	@DisplayName("Test 00 Qoi round trip")
+	void test00QoiRoundTrip() throws IOException {
+		log.info("Starting qoi round trip");
+		for(int type : new int[] {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR}) {
+			BufferedImage image = image(type);
+			assertSamePixels(image, roundTrip(QoiCodec.INSTANCE, image));
+		}
+		log.info("Ending qoi round trip");
+	}
+
+	/**
+	 * Test to validate the lossless round trip of the raw frames, several frames in the same stream
+	 */
+	@Test
+	@DisplayName("Test 01 Raw frames round trip")
+	void test01RawFramesRoundTrip() throws IOException {
+		log.info("Starting raw frames round trip");
+		BufferedImage rgb = image(BufferedImage.TYPE_INT_RGB);
+		BufferedImage argb = image(BufferedImage.TYPE_INT_ARGB);
+		BufferedImage gray = image(BufferedImage.TYPE_BYTE_GRAY);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RawRasterCodec.INSTANCE.write(rgb, output);
+		RawRasterCodec.INSTANCE.write(argb, output);
+		RawRasterCodec.INSTANCE.write(gray, output);
+
+		InputStream input = new ByteArrayInputStream(output.toByteArray());
+		assertSamePixels(rgb, RawRasterCodec.INSTANCE.read(input));
+		assertSamePixels(argb, RawRasterCodec.INSTANCE.read(input));
+		BufferedImage decodedGray = RawRasterCodec.INSTANCE.read(input);
+		assertEquals(BufferedImage.TYPE_BYTE_GRAY, decodedGray.getType());
+		assertSamePixels(gray, decodedGray);
+		assertEquals(-1, input.read(), "Every frame should be consumed exactly");
+
+		log.info("Ending raw frames round trip");
+	}
+
+	/**
+	 * Test to validate the forge output in the new formats and the rejection of broken streams
+	 */
+	@Test
+	@DisplayName("Test 02 Forge qoi and raw")
+	void test02ForgeQoiAndRaw() throws Exception {
+		log.info("Starting forge qoi and raw");
+		for(ImageEncoder encoder : new ImageEncoder[] {ImageEncoder.qoi, ImageEncoder.raw}) {
+			ImageForge iForge = ImageForge.builder().build();
+			iForge.addLine("Test 02 Forge " + encoder);
+			byte[] encoded = iForge.forgeImage(encoder);
+
+			BufferedImage decoded = ImageCodec.of(encoder).read(new ByteArrayInputStream(encoded));
+			assertTrue(decoded.getWidth() > 0 && decoded.getHeight() > 0);
+
+			byte[] truncated = new byte[encoded.length / 2];
+			System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+			assertThrows(IOException.class, () -> ImageCodec.of(encoder).read(new ByteArrayInputStream(truncated)));
+		}
+		log.info("Ending forge qoi and raw");
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.logic.image.BilevelConverter;
+import com.github.adrianjesussilva.textimageforge.logic.kernel.PixelKernels;
+import com.github.adrianjesussilva.textimageforge.logic.kernel.ScalarPixelKernels;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the pixel kernels, the selected ones (vector kernels on JDK 21 with the incubator module)
+ * must give the same pixels as the scalar ones
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestPixelKernels {
+
+	private static final int[] COUNTS = {0, 1, 7, 8, 9, 31, 63, 64, 65, 130, 1000};
+	private static final int OFFSET = 3;
+	private static final String VECTOR_KERNELS = "com.github.adrianjesussilva.textimageforge.logic.kernel.VectorPixelKernels";
+
+	private final PixelKernels kernels = PixelKernels.selected();
+	private final PixelKernels scalar = ScalarPixelKernels.INSTANCE;
+
+	// private methods
+	private static int[] randomPixels(Random random, int length) {
+		int[] pixels = new int[length];
+		for(int i = 0; i < length; i++)
+			pixels[i] = random.nextInt();
+		return pixels;
+	}
+
+	private static byte[] randomBytes(Random random, int length) {
+		byte[] bytes = new byte[length];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Test to validate the background fill and the gray conversion
+	 */
+	@Test
+	@DisplayName("Test 00 Fill and luminance")
+	void test00FillAndLuminance() {
+		log.info("Starting fill and luminance with " + kernels.getClass().getSimpleName());
+
+		Random random = new Random(7);
+		for(int count : COUNTS) {
+			int[] pixels = randomPixels(random, count + 2 * OFFSET);
+			int[] expected = pixels.clone();
+			kernels.fill(pixels, OFFSET, OFFSET + count, 0xFF336699);
+			scalar.fill(expected, OFFSET, OFFSET + count, 0xFF336699);
+			assertArrayEquals(expected, pixels);
+
+			byte[] gray = randomBytes(random, count + 2 * OFFSET);
+			byte[] expectedGray = gray.clone();
+			kernels.fill(gray, OFFSET, OFFSET + count, (byte) 0xEE);
+			scalar.fill(expectedGray, OFFSET, OFFSET + count, (byte) 0xEE);
+			assertArrayEquals(expectedGray, gray);
+
+			int[] rgb = randomPixels(random, count + OFFSET);
+			byte[] level = new byte[count + 2 * OFFSET];
+			byte[] expectedLevel = new byte[count + 2 * OFFSET];
+			kernels.luminance(rgb, OFFSET, level, 2 * OFFSET - 1, count);
+			scalar.luminance(rgb, OFFSET, expectedLevel, 2 * OFFSET - 1, count);
+			assertArrayEquals(expectedLevel, level, "Luminance of " + count + " pixels");
+		}
+
+		log.info("Ending fill and luminance");
+	}
+
+	/**
+	 * Test to validate the bilevel packing, kernels and converter
+	 */
+	@Test
+	@DisplayName("Test 01 Threshold")
+	void test01Threshold() {
+		log.info("Starting threshold");
+
+		Random random = new Random(11);
+		for(int count : COUNTS)
+			for(int threshold : new int[] {0, 1, 127, 128, 255, 256}) {
+				byte[] gray = randomBytes(random, count + OFFSET);
+				byte[] packed = randomBytes(random, (count + 7) / 8 + 2);
+				byte[] expected = packed.clone();
+				kernels.threshold(gray, OFFSET, packed, 1, count, threshold);
+				scalar.threshold(gray, OFFSET, expected, 1, count, threshold);
+				assertArrayEquals(expected, packed, count + " pixels with threshold " + threshold);
+			}
+
+		// the gray and the rgb paths of the converter agree
+		BufferedImage rgb = new BufferedImage(203, 41, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics2d = rgb.createGraphics();
+		graphics2d.setColor(Color.WHITE);
+		graphics2d.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+		graphics2d.setColor(Color.BLACK);
+		graphics2d.setFont(new Font(Font.MONOSPACED, Font.BOLD, 18));
+		graphics2d.drawString("TOTAL 1,234.50", 5, 28);
+		graphics2d.dispose();
+		BufferedImage gray = new BufferedImage(rgb.getWidth(), rgb.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+		byte[] levels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+		for(int y = 0; y < rgb.getHeight(); y++)
+			for(int x = 0; x < rgb.getWidth(); x++) {
+				int pixel = rgb.getRGB(x, y);
+				levels[y * rgb.getWidth() + x] = (byte) ((77 * ((pixel >> 16) & 0xFF) + 150 * ((pixel >> 8) & 0xFF) + 29 * (pixel & 0xFF) + 128) >> 8);
+			}
+		BufferedImage fromRgb = BilevelConverter.convert(rgb, BilevelConverter.DEFAULT_THRESHOLD);
+		BufferedImage fromGray = BilevelConverter.convert(gray, BilevelConverter.DEFAULT_THRESHOLD);
+		assertArrayEquals(((DataBufferByte) fromGray.getRaster().getDataBuffer()).getData(), ((DataBufferByte) fromRgb.getRaster().getDataBuffer()).getData());
+		assertEquals(0xFFFFFFFF, fromRgb.getRGB(0, 0));
+
+		log.info("Ending threshold");
+	}
+
+	/**
+	 * Test to validate the alpha compositing of the signature ink
+	 */
+	@Test
+	@DisplayName("Test 02 Composite")
+	void test02Composite() {
+		log.info("Starting composite");
+
+		Random random = new Random(13);
+		for(int count : COUNTS) {
+			int[] pixels = randomPixels(random, count + 2 * OFFSET);
+			byte[] coverage = randomBytes(random, count + OFFSET);
+			// runs of empty and full coverage as the edges of a stroke
+			for(int i = 0; i < coverage.length; i += 5)
+				coverage[i] = (byte) (i % 2 == 0 ? 0 : 255);
+			int[] expected = pixels.clone();
+			kernels.composite(pixels, OFFSET, coverage, 1, count, 0x1A2B3C);
+			scalar.composite(expected, OFFSET, coverage, 1, count, 0x1A2B3C);
+			assertArrayEquals(expected, pixels, "Composite of " + count + " pixels");
+		}
+
+		log.info("Ending composite");
+	}
+
+	/**
+	 * Test to validate that the java21 profile, which builds the vector kernels and adds their module,
+	 * selects them, the other builds only have the scalar kernels
+	 */
+	@Test
+	@DisplayName("Test 03 Selection")
+	void test03Selection() throws Exception {
+		log.info("Starting selection");
+
+		assumeTrue("vector".equals(System.getProperty("textimageforge.kernels.expected")),
+				"The vector kernels are only built by the java21 profile (JDK 21+), selected " + kernels.getClass().getSimpleName());
+		Method isSupported = Class.forName(VECTOR_KERNELS).getDeclaredMethod("isSupported");
+		isSupported.setAccessible(true);
+		assumeTrue((Boolean) isSupported.invoke(null), "The preferred vectors of this machine are too narrow for the vector kernels");
+		assertEquals("VectorPixelKernels", kernels.getClass().getSimpleName());
+
+		log.info("Ending selection");
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.font.TextAttribute;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.raster.GlyphRasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.raster.Java2DRasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.raster.RasterCanvas;
+import com.github.adrianjesussilva.textimageforge.logic.raster.Rasterizer;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextStyle;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the rasterizer backends, the glyph backend must look like Java2D
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestRasterizer {
+
+	private static final Font[] FONTS = {new Font(Font.MONOSPACED, Font.PLAIN, 12), new Font(Font.SANS_SERIF, Font.BOLD, 14), new Font(Font.SERIF, Font.ITALIC, 18)};
+	private static final Color[] COLORS = {Color.BLACK, new Color(200, 30, 30), new Color(0, 0, 255, 128)};
+
+	// private methods
+	private ImageForge forge(Rasterizer rasterizer) throws Exception {
+		ImageForge forge = ImageForge.builder().rasterizer(rasterizer).build();
+		for(int i = 0; i < 12; i++)
+			forge.addLine(TextForge.builder().text("Line " + i + " TOTAL 1,234.50 Se\u00f1or \u20ac").textAlign(TextAlign.values()[i % 3])
+					.font(FONTS[i % 3]).color(COLORS[i % 3]).build());
+		return forge;
+	}
+
+	private BufferedImage draw(Rasterizer rasterizer, int imageType, String text) {
+		return draw(rasterizer, imageType, text, FONTS[1], 160);
+	}
+
+	private BufferedImage draw(Rasterizer rasterizer, int imageType, String text, Font font, int width) {
+		RasterCanvas canvas = rasterizer.createCanvas(width, 40, imageType, Color.WHITE);
+		canvas.drawText(text, 4, 26, new TextStyle(font, Color.DARK_GRAY));
+		return canvas.finish();
+	}
+
+	private void assertLookAlike(BufferedImage expected, BufferedImage actual) {
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		int ink = 0;
+		for(int y = 0; y < expected.getHeight(); y++)
+			for(int x = 0; x < expected.getWidth(); x++) {
+				int expectedPixel = expected.getRGB(x, y);
+				int actualPixel = actual.getRGB(x, y);
+				if(expectedPixel != Color.WHITE.getRGB())
+					ink++;
+				for(int shift = 0; shift < 24; shift += 8)
+					assertTrue(Math.abs(((expectedPixel >> shift) & 0xFF) - ((actualPixel >> shift) & 0xFF)) <= 2,
+							"pixel " + x + "," + y + " differs");
+			}
+		assertTrue(ink > 100, "The text should be drawn");
+	}
+
+	/**
+	 * Test to validate that the glyph backend draws the vouchers as Java2D
+	 */
+	@Test
+	@DisplayName("Test 00 Same voucher")
+	void test00SameVoucher() throws Exception {
+		log.info("Starting same voucher");
+
+		BufferedImage expected = forge(Java2DRasterizer.INSTANCE).forgeImage(ImageEncoder.png, null);
+		assertLookAlike(expected, forge(GlyphRasterizer.INSTANCE).forgeImage(ImageEncoder.png, null));
+		// the default backend is Java2D
+		assertArrayEquals(forge(Java2DRasterizer.INSTANCE).forgeImage(ImageEncoder.raw), forge(null).forgeImage(ImageEncoder.raw));
+
+		log.info("Ending same voucher");
+	}
+
+	/**
+	 * Test to validate the gray canvas and the lines left to the Java2D layout
+	 */
+	@Test
+	@DisplayName("Test 01 Gray and complex text")
+	void test01GrayAndComplexText() {
+		log.info("Starting gray and complex text");
+
+		assertLookAlike(draw(Java2DRasterizer.INSTANCE, BufferedImage.TYPE_BYTE_GRAY, "TOTAL 1,234.50"),
+				draw(GlyphRasterizer.INSTANCE, BufferedImage.TYPE_BYTE_GRAY, "TOTAL 1,234.50"));
+		String complex = "\u05e9\u05dc\u05d5\u05dd e\u0301 12";
+		assertLookAlike(draw(Java2DRasterizer.INSTANCE, BufferedImage.TYPE_INT_RGB, complex),
+				draw(GlyphRasterizer.INSTANCE, BufferedImage.TYPE_INT_RGB, complex));
+		// the pen of a long line in a fractional size does not drift from the Java2D one
+		String line = "MERCHANT 000123 TOTAL 1,234.50 iiiiiiiiii WWWWWWWWWW lllllllll";
+		Font fractional = FONTS[2].deriveFont(13.3f);
+		assertLookAlike(draw(Java2DRasterizer.INSTANCE, BufferedImage.TYPE_INT_RGB, line, fractional, 600),
+				draw(GlyphRasterizer.INSTANCE, BufferedImage.TYPE_INT_RGB, line, fractional, 600));
+		// the pairs of a kerned font are not placed by their single advances
+		String pairs = "AVAWAVAT To Ty Yo";
+		Font kerned = new Font(Font.SANS_SERIF, Font.PLAIN, 20).deriveFont(Collections.singletonMap(TextAttribute.KERNING, TextAttribute.KERNING_ON));
+		assertLookAlike(draw(Java2DRasterizer.INSTANCE, BufferedImage.TYPE_INT_RGB, pairs, kerned, 300),
+				draw(GlyphRasterizer.INSTANCE, BufferedImage.TYPE_INT_RGB, pairs, kerned, 300));
+
+		log.info("Ending gray and complex text");
+	}
+
+	/**
+	 * Test to validate that the glyph backend gives the same image from many threads
+	 */
+	@Test
+	@DisplayName("Test 02 Concurrent renders")
+	void test02ConcurrentRenders() throws Exception {
+		log.info("Starting concurrent renders");
+
+		byte[] expected = forge(GlyphRasterizer.INSTANCE).forgeImage(ImageEncoder.raw);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<byte[]>> renders = new ArrayList<>();
+			for(int i = 0; i < 64; i++)
+				renders.add(executor.submit(() -> forge(GlyphRasterizer.INSTANCE).forgeImage(ImageEncoder.raw)));
+			for(Future<byte[]> render : renders)
+				assertArrayEquals(expected, render.get());
+		} finally {
+			executor.shutdown();
+		}
+
+		log.info("Ending concurrent renders");
+	}
+
+}
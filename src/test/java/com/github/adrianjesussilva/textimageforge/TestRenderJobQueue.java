@@ -0,0 +1,213 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.AdmissionPolicy;
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.queue.RenderJob;
+import com.github.adrianjesussilva.textimageforge.logic.queue.RenderJobQueue;
+import com.github.adrianjesussilva.textimageforge.logic.queue.RenderJournal;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the render job queue and its journal
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestRenderJobQueue {
+
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+	@TempDir
+	Path directory;
+
+	// private methods
+	private RenderJob job(String id) {
+		return RenderJob.builder().id(id).output("vouchers/" + id + ".png").encoder(ImageEncoder.png)
+				.line(TextForge.builder().text("VOUCHER " + id).textAlign(TextAlign.LEFT).font(FONT).color(Color.BLACK).build())
+				.line(TextForge.builder().text("TOTAL 1,234.50").textAlign(TextAlign.RIGHT).font(FONT).color(Color.BLACK).build())
+				.build();
+	}
+
+	/**
+	 * Test to validate that the jobs are rendered into the output directory and checkpointed
+	 */
+	@Test
+	@DisplayName("Test 00 Render jobs")
+	void test00RenderJobs() throws Exception {
+		log.info("Starting render jobs");
+
+		Path journal = directory.resolve("jobs.journal");
+		Path output = directory.resolve("output");
+		try (RenderJobQueue queue = new RenderJobQueue(journal, output, 2)) {
+			for(int i = 0; i < 10; i++)
+				assertTrue(queue.submit(job("job-" + i)));
+			assertTrue(queue.awaitIdle(30, TimeUnit.SECONDS));
+			assertEquals(10, queue.getCompleted());
+			assertEquals(0, queue.getOutstanding());
+		}
+		for(int i = 0; i < 10; i++) {
+			BufferedImage image = ImageIO.read(output.resolve("vouchers/job-" + i + ".png").toFile());
+			assertTrue(image.getWidth() > 0, "The image should be readable");
+			assertFalse(Files.exists(output.resolve("vouchers/job-" + i + ".png.part")));
+		}
+
+		log.info("Ending render jobs");
+	}
+
+	/**
+	 * Test to validate that only the jobs without checkpoint are rendered after a crash, ignoring the torn tail
+	 */
+	@Test
+	@DisplayName("Test 01 Resume after crash")
+	void test01ResumeAfterCrash() throws Exception {
+		log.info("Starting resume after crash");
+
+		Path journalFile = directory.resolve("jobs.journal");
+		Path output = directory.resolve("output");
+		try (RenderJournal journal = new RenderJournal(journalFile)) {
+			for(int i = 0; i < 4; i++)
+				journal.appendSubmitted(job("job-" + i));
+			journal.appendCompleted("job-0");
+			journal.appendCompleted("job-2");
+		}
+		// a record cut by the crash after the last complete one
+		long size;
+		try (RenderJournal journal = new RenderJournal(journalFile)) {
+			size = journal.getSize();
+		}
+		try (RandomAccessFile file = new RandomAccessFile(journalFile.toFile(), "rw")) {
+			file.seek(size);
+			file.writeInt(500);
+			file.writeInt(0xCAFEBABE);
+			file.write(new byte[] {1, 2, 3, 4, 5});
+		}
+
+		try (RenderJobQueue queue = new RenderJobQueue(journalFile, output, 2)) {
+			assertTrue(queue.awaitIdle(30, TimeUnit.SECONDS));
+			assertEquals(4, queue.getCompleted());
+			assertTrue(queue.submit(job("job-4")), "New jobs should be appended over the torn tail");
+			assertTrue(queue.awaitIdle(30, TimeUnit.SECONDS));
+		}
+		assertFalse(Files.exists(output.resolve("vouchers/job-0.png")), "Completed jobs should not be rendered again");
+		assertTrue(Files.exists(output.resolve("vouchers/job-1.png")));
+		assertTrue(Files.exists(output.resolve("vouchers/job-3.png")));
+
+		try (RenderJournal journal = new RenderJournal(journalFile)) {
+			assertEquals(0, journal.getPending().size());
+			assertTrue(journal.isCompleted("job-4"));
+		}
+
+		log.info("Ending resume after crash");
+	}
+
+	/**
+	 * Test to validate the duplicated ids, the failed jobs, the invalid jobs and the lock of the journal
+	 */
+	@Test
+	@DisplayName("Test 02 Checkpoints")
+	void test02Checkpoints() throws Exception {
+		log.info("Starting checkpoints");
+
+		Path journal = directory.resolve("jobs.journal");
+		Path output = directory.resolve("output");
+		RenderJob broken = RenderJob.builder().id("broken").output("broken.png").encoder(ImageEncoder.png).signature("bm90IGFuIGltYWdl")
+				.line(TextForge.builder().text("BROKEN").textAlign(TextAlign.LEFT).font(FONT).color(Color.BLACK).build()).build();
+		try (RenderJobQueue queue = new RenderJobQueue(journal, output, 1)) {
+			assertThrows(IOException.class, () -> new RenderJournal(journal), "The journal is locked by the open queue");
+			assertTrue(queue.submit(job("job-0")));
+			assertTrue(queue.submit(broken));
+			assertFalse(queue.submit(job("job-0")), "The same id should be submitted once");
+			assertThrows(InvalidTextForgeConfigException.class, () -> queue.submit(RenderJob.builder().id("escape").output("../escape.png").build()));
+			assertThrows(InvalidTextForgeConfigException.class, () -> queue.submit(RenderJob.builder().output("no-id.png").build()));
+			assertTrue(queue.awaitIdle(30, TimeUnit.SECONDS));
+			assertEquals(1, queue.getFailures().size());
+			assertTrue(queue.getFailures().containsKey("broken"));
+		}
+
+		// the failed and completed jobs are known by the next run
+		try (RenderJobQueue queue = new RenderJobQueue(journal, output, 1)) {
+			assertEquals(0, queue.getOutstanding());
+			assertFalse(queue.submit(job("job-0")));
+			assertFalse(queue.submit(broken));
+		}
+		// the whole configuration of the forge is kept in the journal
+		RenderJob configured = RenderJob.builder().id("configured").output("configured.png").encoder(ImageEncoder.png)
+				.width(200).dynamicWidth(false).height(90).dynamicHeight(false).superiorMargin(3).rightMargin(4).inferiorMargin(5)
+				.leftMargin(6).lineSpacing(7).background(Color.YELLOW).signatureAntialiasing(false).admissionPolicy(AdmissionPolicy.DEGRADE)
+				.line(TextForge.builder().text("CONFIGURED").textAlign(TextAlign.CENTER).font(FONT).color(Color.BLUE).build()).build();
+		Path configuredJournal = directory.resolve("configured.journal");
+		try (RenderJournal written = new RenderJournal(configuredJournal)) {
+			written.appendSubmitted(configured);
+		}
+		try (RenderJournal read = new RenderJournal(configuredJournal)) {
+			assertEquals(configured, read.getPending().get(0));
+		}
+
+		Path image = output.resolve("vouchers/job-0.png");
+		long imageSize = Files.size(image);
+		assertThrows(IOException.class, () -> new RenderJournal(image).close(), "An image is not a journal");
+		assertEquals(imageSize, Files.size(image), "The image should be left untouched");
+
+		log.info("Ending checkpoints");
+	}
+
+	/**
+	 * Test to validate that a job stopped by an I/O error stays pending and can be retried
+	 */
+	@Test
+	@DisplayName("Test 03 Retry I/O errors")
+	void test03RetryIOErrors() throws Exception {
+		log.info("Starting retry I/O errors");
+
+		Path journal = directory.resolve("jobs.journal");
+		Path output = directory.resolve("output");
+		// a file where the directory of the images should be
+		Files.createDirectories(output);
+		Path blocker = Files.createFile(output.resolve("vouchers"));
+		try (RenderJobQueue queue = new RenderJobQueue(journal, output, 1)) {
+			assertTrue(queue.submit(job("job-0")));
+			assertTrue(queue.awaitIdle(30, TimeUnit.SECONDS));
+			assertEquals(0, queue.getCompleted());
+			assertTrue(queue.getFailures().isEmpty(), "An I/O error is not a permanent failure");
+			assertTrue(queue.getErrors().containsKey("job-0"));
+
+			Files.delete(blocker);
+			assertEquals(1, queue.retry());
+			assertTrue(queue.awaitIdle(30, TimeUnit.SECONDS));
+			assertEquals(1, queue.getCompleted());
+			assertTrue(queue.getErrors().isEmpty());
+		}
+		assertTrue(Files.exists(output.resolve("vouchers/job-0.png")));
+
+		log.info("Ending retry I/O errors");
+	}
+
+}
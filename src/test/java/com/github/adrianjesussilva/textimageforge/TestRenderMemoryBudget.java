@@ -0,0 +1,181 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.AdmissionPolicy;
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.logic.exception.MemoryBudgetExceededException;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.image.RenderMemoryBudget;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the memory budget admission of the renders
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestRenderMemoryBudget {
+
+	// private methods
+	private ImageForge forge(RenderMemoryBudget budget) {
+		ImageForge iForge = ImageForge.builder().memoryBudget(budget).build();
+		assertDoesNotThrow(() -> iForge.addLine("----------------------------------------"), "It should not produce a exception");
+		assertDoesNotThrow(() -> iForge.addLine("Memory budget"), "It should not produce a exception");
+		return iForge;
+	}
+
+	/**
+	 * Test to validate the accounting of the leases
+	 */
+	@Test
+	@DisplayName("Test 00 Lease accounting")
+	void test00LeaseAccounting() throws Exception {
+		log.info("Starting lease accounting");
+
+		RenderMemoryBudget budget = new RenderMemoryBudget(1000, AdmissionPolicy.WAIT);
+		RenderMemoryBudget.Lease first = budget.acquire(600);
+		assertEquals(600, budget.getUsed());
+		assertNull(budget.tryAcquire(600), "There is not memory for a second lease");
+
+		first.close();
+		first.close();
+		assertEquals(0, budget.getUsed(), "Closing twice should release once");
+		assertEquals(600, budget.getPeak());
+
+		// a lease bigger than the budget takes the whole capacity
+		try (RenderMemoryBudget.Lease huge = budget.acquire(5000)) {
+			assertEquals(1000, huge.getBytes());
+		}
+		assertEquals(1000, budget.getAvailable());
+
+		log.info("Ending lease accounting");
+	}
+
+	/**
+	 * Test to validate that the renders wait for the memory of the running ones
+	 */
+	@Test
+	@DisplayName("Test 01 Wait for memory")
+	void test01WaitForMemory() throws Exception {
+		log.info("Starting wait for memory");
+
+		RenderMemoryBudget budget = new RenderMemoryBudget(64 * 1024 * 1024, AdmissionPolicy.WAIT);
+		RenderMemoryBudget.Lease held = budget.acquire(budget.getCapacity());
+
+		CompletableFuture<byte[]> render = CompletableFuture.supplyAsync(() -> {
+			try {
+				return forge(budget).forgeImage(ImageEncoder.png);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		while(budget.getWaiting() == 0)
+			Thread.sleep(5);
+		held.close();
+
+		assertNotNull(render.get(10, TimeUnit.SECONDS));
+		assertEquals(0, budget.getUsed(), "The render should release its memory");
+
+		log.info("Ending wait for memory");
+	}
+
+	/**
+	 * Test to validate the fail fast and degrade policies
+	 */
+	@Test
+	@DisplayName("Test 02 Fail fast and degrade")
+	void test02FailFastAndDegrade() throws Exception {
+		log.info("Starting fail fast and degrade");
+
+		RenderMemoryBudget failFast = new RenderMemoryBudget(64 * 1024 * 1024, AdmissionPolicy.FAIL_FAST);
+		try (RenderMemoryBudget.Lease held = failFast.acquire(failFast.getCapacity() - 1024)) {
+			assertThrows(MemoryBudgetExceededException.class, () -> forge(failFast).forgeImage(ImageEncoder.png));
+			assertEquals(1, failFast.getRejected());
+		}
+
+		// the policy of the forge goes before the one of the budget
+		RenderMemoryBudget wait = new RenderMemoryBudget(64 * 1024 * 1024, AdmissionPolicy.WAIT);
+		try (RenderMemoryBudget.Lease held = wait.acquire(wait.getCapacity() - 1024)) {
+			ImageForge iForge = ImageForge.builder().memoryBudget(wait).admissionPolicy(AdmissionPolicy.FAIL_FAST).build();
+			assertDoesNotThrow(() -> iForge.addLine("Fail fast forge"), "It should not produce a exception");
+			assertThrows(MemoryBudgetExceededException.class, () -> iForge.forgeImage(ImageEncoder.png));
+		}
+
+		// leave room for the gray render only
+		RenderMemoryBudget degrade = new RenderMemoryBudget(64 * 1024 * 1024, AdmissionPolicy.DEGRADE);
+		try (RenderMemoryBudget.Lease held = degrade.acquire(degrade.getCapacity() - 32 * 1024)) {
+			BufferedImage image = forge(degrade).forgeImage(ImageEncoder.png, null);
+			assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+		}
+		BufferedImage image = forge(degrade).forgeImage(ImageEncoder.png, null);
+		assertEquals(BufferedImage.TYPE_INT_RGB, image.getType());
+		assertTrue(degrade.getPeak() <= degrade.getCapacity());
+
+		log.info("Ending fail fast and degrade");
+	}
+
+	/**
+	 * Test to validate that the waiting renders are admitted in arrival order
+	 */
+	@Test
+	@DisplayName("Test 03 Arrival order")
+	void test03ArrivalOrder() throws Exception {
+		log.info("Starting arrival order");
+
+		RenderMemoryBudget budget = new RenderMemoryBudget(1000, AdmissionPolicy.WAIT);
+		RenderMemoryBudget.Lease small = budget.acquire(400);
+
+		CompletableFuture<RenderMemoryBudget.Lease> large = CompletableFuture.supplyAsync(() -> {
+			try {
+				return budget.acquire(900);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		while(budget.getWaiting() == 0)
+			Thread.sleep(5);
+
+		// the later small render fits but does not go before the large one
+		assertNull(budget.tryAcquire(100), "A render should not go before the waiting ones");
+		assertThrows(MemoryBudgetExceededException.class, () -> budget.acquire(100, AdmissionPolicy.FAIL_FAST));
+		CompletableFuture<RenderMemoryBudget.Lease> later = CompletableFuture.supplyAsync(() -> {
+			try {
+				return budget.acquire(200);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		while(budget.getWaiting() < 2)
+			Thread.sleep(5);
+		assertEquals(400, budget.getUsed());
+
+		small.close();
+		RenderMemoryBudget.Lease first = large.get(10, TimeUnit.SECONDS);
+		assertEquals(900, budget.getPeak(), "The large render should be admitted before the later one");
+		first.close();
+		later.get(10, TimeUnit.SECONDS).close();
+		assertEquals(0, budget.getUsed());
+		assertEquals(0, budget.getWaiting());
+
+		log.info("Ending arrival order");
+	}
+
+}
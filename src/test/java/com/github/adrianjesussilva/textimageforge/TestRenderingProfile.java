@@ -0,0 +1,173 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.RenderingProfile;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.image.SignatureMask;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the speed/quality rendering profiles
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestRenderingProfile {
+
+	private static final Font FONT = new Font(Font.SERIF, Font.PLAIN, 13);
+	private static final String TEXT = "MERCHANT 000123 TOTAL 1,234.50 THANK YOU";
+
+	// private methods
+	private ImageForge forge(RenderingProfile profile) throws Exception {
+		ImageForge forge = ImageForge.builder().renderingProfile(profile).build();
+		for(int i = 0; i < 5; i++)
+			forge.addLine(TextForge.builder().text(TEXT).textAlign(TextAlign.values()[i % 3]).font(FONT).color(Color.BLACK).build());
+		return forge;
+	}
+
+	private BufferedImage signatureImage() {
+		BufferedImage image = new BufferedImage(300, 90, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2d = image.createGraphics();
+		graphics2d.setColor(Color.BLACK);
+		graphics2d.setStroke(new BasicStroke(5));
+		graphics2d.drawLine(10, 80, 290, 10);
+		graphics2d.dispose();
+		return image;
+	}
+
+	/**
+	 * function that draw the lines of {@link #forge(RenderingProfile)} as the forge did before the profiles,
+	 * a graphics with only the antialiasing hint and the default margins
+	 */
+	private BufferedImage preProfileImage() {
+		int margin = 15;
+		int lineSpacing = 2;
+		BufferedImage measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics2d = measure.createGraphics();
+		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		FontRenderContext fontRenderContext = graphics2d.getFontRenderContext();
+		graphics2d.dispose();
+		int lineWidth = (int) Math.ceil(FONT.getStringBounds(TEXT, fontRenderContext).getWidth());
+		int lineHeight = (int) Math.ceil(FONT.getLineMetrics(TEXT, fontRenderContext).getHeight());
+		int width = lineWidth + 2 * margin;
+
+		BufferedImage image = new BufferedImage(width, 5 * lineHeight + 2 * margin, BufferedImage.TYPE_INT_RGB);
+		graphics2d = image.createGraphics();
+		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics2d.setColor(Color.WHITE);
+		graphics2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+		graphics2d.setPaint(Color.BLACK);
+		graphics2d.setFont(FONT);
+		int[] xAxes = {margin, (width - lineWidth) / 2, width - margin - lineWidth};
+		for(int i = 0; i < 5; i++)
+			graphics2d.drawString(TEXT, xAxes[i % 3], margin + i * (lineSpacing + lineHeight));
+		graphics2d.dispose();
+		return image;
+	}
+
+	private int[] pixels(BufferedImage image) {
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	private String signature() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(signatureImage(), "png", output);
+		return Base64.encodeBase64String(output.toByteArray());
+	}
+
+	/**
+	 * Test to validate that the balanced profile is the default and draws as the forge did before the profiles
+	 */
+	@Test
+	@DisplayName("Test 00 Balanced")
+	void test00Balanced() throws Exception {
+		log.info("Starting balanced");
+
+		BufferedImage expected = preProfileImage();
+		for(RenderingProfile profile : new RenderingProfile[] {null, RenderingProfile.BALANCED}) {
+			BufferedImage image = forge(profile).forgeImage(ImageEncoder.png, null);
+			assertEquals(expected.getWidth(), image.getWidth(), "Width with profile " + profile);
+			assertEquals(expected.getHeight(), image.getHeight(), "Height with profile " + profile);
+			assertArrayEquals(pixels(expected), pixels(image), "Pixels with profile " + profile);
+		}
+		assertEquals(RenderingHints.VALUE_ANTIALIAS_ON, RenderingProfile.BALANCED.getHints().get(RenderingHints.KEY_ANTIALIASING));
+		assertEquals(RenderingHints.VALUE_FRACTIONALMETRICS_OFF, RenderingProfile.BALANCED.getFontRenderContext().getFractionalMetricsHint());
+
+		log.info("Ending balanced");
+	}
+
+	/**
+	 * Test to validate that the bilevel profile only draws black and white, signature included
+	 */
+	@Test
+	@DisplayName("Test 01 Fast bilevel")
+	void test01FastBilevel() throws Exception {
+		log.info("Starting fast bilevel");
+
+		BufferedImage image = forge(RenderingProfile.FAST_BILEVEL).forgeImage(ImageEncoder.png, signature());
+		assertEquals(BufferedImage.TYPE_BYTE_BINARY, image.getType());
+		int black = 0;
+		for(int y = 0; y < image.getHeight(); y++)
+			for(int x = 0; x < image.getWidth(); x++) {
+				int rgb = image.getRGB(x, y) & 0xFFFFFF;
+				assertTrue(rgb == 0 || rgb == 0xFFFFFF);
+				if(rgb == 0)
+					black++;
+			}
+		assertTrue(black > 100, "The text and the signature should be drawn");
+		assertTrue(forge(RenderingProfile.FAST_BILEVEL).forgeImage(ImageEncoder.jpg).length > 0);
+
+		log.info("Ending fast bilevel");
+	}
+
+	/**
+	 * Test to validate the fractional metrics layout and the smooth resize of the signature
+	 */
+	@Test
+	@DisplayName("Test 02 High quality")
+	void test02HighQuality() throws Exception {
+		log.info("Starting high quality");
+
+		BufferedImage image = forge(RenderingProfile.HIGH_QUALITY).forgeImage(ImageEncoder.png, null);
+		int textWidth = (int) Math.ceil(FONT.getStringBounds(TEXT, RenderingProfile.HIGH_QUALITY.getFontRenderContext()).getWidth());
+		assertEquals(textWidth + 30, image.getWidth());
+
+		SignatureMask bilevel = SignatureMask.of(signatureImage(), false);
+		assertFalse(bilevel.resize(100, 30, false).isAntialiased());
+		SignatureMask smooth = bilevel.resize(100, 30, true);
+		assertTrue(smooth.isAntialiased(), "The averaged edges should keep partial coverage");
+		assertEquals(100, smooth.getWidth());
+		assertEquals(30, smooth.getHeight());
+
+		log.info("Ending high quality");
+	}
+
+}
@@ -0,0 +1,192 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageOverlay;
+import com.github.adrianjesussilva.textimageforge.logic.image.SignatureMask;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the run-length signature masks
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestSignatureMask {
+
+	// private methods
+	private BufferedImage signature() {
+		BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2d = image.createGraphics();
+		graphics2d.setColor(Color.BLUE);
+		graphics2d.fillRect(5, 5, 30, 2);
+		graphics2d.fillRect(18, 0, 4, 20);
+		graphics2d.dispose();
+		return image;
+	}
+
+	/**
+	 * Test to validate the runs of a solid signature
+	 */
+	@Test
+	@DisplayName("Test 00 Solid signature mask")
+	void test00SolidSignatureMask() {
+		log.info("Starting solid signature mask");
+
+		SignatureMask mask = SignatureMask.of(signature(), true);
+
+		assertEquals(40, mask.getWidth());
+		assertEquals(20, mask.getHeight());
+		assertEquals(Color.BLUE.getRGB() & 0xFFFFFF, mask.getInk());
+		// the rows crossing the horizontal bar are a single run
+		assertEquals(20, mask.getRunCount());
+		assertFalse(mask.isAntialiased(), "A solid signature does not need coverage");
+		assertTrue(mask.getByteSize() < 40 * 20 * 4, "The mask should be smaller than the raster");
+
+		log.info("Ending solid signature mask");
+	}
+
+	/**
+	 * Test to validate that stamping the mask produces the same pixels than drawing the image
+	 */
+	@Test
+	@DisplayName("Test 01 Stamp equals draw")
+	void test01StampEqualsDraw() {
+		log.info("Starting stamp equals draw");
+
+		BufferedImage drawn = new BufferedImage(100, 60, BufferedImage.TYPE_INT_RGB);
+		BufferedImage stamped = new BufferedImage(100, 60, BufferedImage.TYPE_INT_RGB);
+		for(BufferedImage image : new BufferedImage[] {drawn, stamped}) {
+			Graphics2D graphics2d = image.createGraphics();
+			graphics2d.setColor(Color.WHITE);
+			graphics2d.fillRect(0, 0, 100, 60);
+			graphics2d.dispose();
+		}
+
+		ImageOverlay overlay = new ImageOverlay();
+		assertDoesNotThrow(() -> overlay.overlayImages(drawn, signature(), 40));
+		assertDoesNotThrow(() -> overlay.overlaySignature(stamped, SignatureMask.of(signature(), true), 40));
+
+		for(int y = 0; y < 60; y++)
+			for(int x = 0; x < 100; x++)
+				assertEquals(drawn.getRGB(x, y), stamped.getRGB(x, y), "pixel " + x + "," + y);
+
+		log.info("Ending stamp equals draw");
+	}
+
+	/**
+	 * Test to validate the 1 bit reduction of the translucent edges
+	 */
+	@Test
+	@DisplayName("Test 02 Bilevel signature coverage")
+	void test02BilevelSignatureCoverage() {
+		log.info("Starting bilevel signature coverage");
+
+		BufferedImage image = new BufferedImage(10, 1, BufferedImage.TYPE_INT_ARGB);
+		image.setRGB(2, 0, 0xFF000000);
+		image.setRGB(3, 0, 0xA0000000);
+		image.setRGB(4, 0, 0x40000000);
+
+		SignatureMask antialiased = SignatureMask.of(image, true);
+		assertTrue(antialiased.isAntialiased());
+		assertEquals(1, antialiased.getRunCount());
+
+		SignatureMask bilevel = SignatureMask.of(image, false);
+		assertFalse(bilevel.isAntialiased());
+		assertEquals(1, bilevel.getRunCount());
+
+		int[] pixels = new int[10];
+		bilevel.stamp(pixels, 0, 10, 0, 1);
+		assertEquals(0xFF000000 | bilevel.getInk(), pixels[2]);
+		assertEquals(0xFF000000 | bilevel.getInk(), pixels[3]);
+		assertEquals(0, pixels[4], "Faint pixels are paper in 1 bit masks");
+
+		log.info("Ending bilevel signature coverage");
+	}
+
+	/**
+	 * Test to validate that masks and kept images give the pixels of resizing and overlaying the image
+	 */
+	@Test
+	@DisplayName("Test 03 Same as image overlay")
+	void test03SameAsImageOverlay() throws Exception {
+		log.info("Starting same as image overlay");
+
+		// antialiased stroke of a single color
+		BufferedImage stroke = new BufferedImage(90, 30, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2d = stroke.createGraphics();
+		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics2d.setColor(new Color(20, 40, 160));
+		graphics2d.setStroke(new BasicStroke(3));
+		graphics2d.drawLine(3, 26, 86, 4);
+		graphics2d.drawOval(10, 5, 30, 18);
+		graphics2d.dispose();
+
+		// two inks
+		BufferedImage twoColors = signature();
+		graphics2d = twoColors.createGraphics();
+		graphics2d.setColor(Color.RED);
+		graphics2d.fillRect(0, 12, 40, 3);
+		graphics2d.dispose();
+
+		// opaque scan, pasted with its paper
+		BufferedImage opaque = new BufferedImage(60, 20, BufferedImage.TYPE_INT_RGB);
+		graphics2d = opaque.createGraphics();
+		graphics2d.setColor(new Color(250, 248, 240));
+		graphics2d.fillRect(0, 0, 60, 20);
+		graphics2d.setColor(Color.DARK_GRAY);
+		graphics2d.drawLine(2, 18, 57, 3);
+		graphics2d.dispose();
+
+		// as the png readers give them
+		BufferedImage abgr = new BufferedImage(90, 30, BufferedImage.TYPE_4BYTE_ABGR);
+		abgr.setRGB(0, 0, 90, 30, stroke.getRGB(0, 0, 90, 30, null, 0, 90), 0, 90);
+		BufferedImage bgr = new BufferedImage(60, 20, BufferedImage.TYPE_3BYTE_BGR);
+		bgr.setRGB(0, 0, 60, 20, opaque.getRGB(0, 0, 60, 20, null, 0, 60), 0, 60);
+
+		ImageOverlay overlay = new ImageOverlay();
+		int[][] sizes = {{0, 0}, {37, 13}, {64, 21}, {75, 25}};
+		for(BufferedImage image : new BufferedImage[] {stroke, twoColors, opaque, abgr, bgr}) {
+			SignatureMask mask = SignatureMask.of(image, true);
+			if(image != stroke && image != abgr)
+				assertTrue(mask.isMultiColored(), "Opaque and two color signatures keep the color of every pixel");
+			for(int[] size : sizes) {
+				int width = size[0] == 0 ? image.getWidth() : size[0];
+				int height = size[1] == 0 ? image.getHeight() : size[1];
+				BufferedImage drawn = new BufferedImage(120, 70, BufferedImage.TYPE_INT_RGB);
+				BufferedImage stamped = new BufferedImage(120, 70, BufferedImage.TYPE_INT_RGB);
+				for(BufferedImage voucher : new BufferedImage[] {drawn, stamped}) {
+					graphics2d = voucher.createGraphics();
+					graphics2d.setColor(new Color(230, 240, 250));
+					graphics2d.fillRect(0, 0, 120, 70);
+					graphics2d.dispose();
+				}
+				overlay.overlayImages(drawn, overlay.resizeImage(image, width, height), 50);
+				overlay.overlaySignature(stamped, mask.resize(width, height), 50);
+				for(int y = 0; y < 70; y++)
+					for(int x = 0; x < 120; x++)
+						assertEquals(drawn.getRGB(x, y), stamped.getRGB(x, y), width + "x" + height + " pixel " + x + "," + y);
+			}
+		}
+
+		log.info("Ending same as image overlay");
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.github.adrianjesussilva.textimageforge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextDocument;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the compact document model
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestTextDocument {
+
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+	private static final Font BOLD = new Font(Font.MONOSPACED, Font.BOLD, 12);
+
+	// private methods
+	private List<TextForge> lines(int count) {
+		List<TextForge> lines = new ArrayList<>();
+		for(int i = 0; i < count; i++)
+			lines.add(TextForge.builder().text("line " + i).textAlign(TextAlign.values()[i % 3])
+					.font(i % 2 == 0 ? FONT : BOLD).color(i % 5 == 0 ? Color.RED : Color.BLACK).build());
+		return lines;
+	}
+
+	/**
+	 * Test to validate the interning of the styles and the copy of the lines
+	 */
+	@Test
+	@DisplayName("Test 00 Styles and lines")
+	void test00StylesAndLines() throws Exception {
+		log.info("Starting styles and lines");
+
+		List<TextForge> lines = lines(1000);
+		TextDocument document = TextDocument.of(lines);
+
+		assertEquals(1000, document.size());
+		assertEquals(4, document.getStyleCount(), "Two fonts and two colors should give four styles");
+		for(int i = 0; i < lines.size(); i++) {
+			TextForge line = document.get(i);
+			assertEquals(lines.get(i).getText(), line.getText());
+			assertEquals(lines.get(i).getTextAlign(), line.getTextAlign());
+			assertEquals(lines.get(i).getFont(), line.getFont());
+			assertEquals(lines.get(i).getColor(), line.getColor());
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> document.getText(1000));
+
+		log.info("Ending styles and lines");
+	}
+
+	/**
+	 * Test to validate the measure of the lines against the font
+	 */
+	@Test
+	@DisplayName("Test 01 Measure")
+	void test01Measure() throws Exception {
+		log.info("Starting measure");
+
+		FontRenderContext fontRenderContext = new FontRenderContext(null, RenderingHints.VALUE_TEXT_ANTIALIAS_ON, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+		TextDocument document = TextDocument.of(lines(20));
+		document.measure(fontRenderContext);
+
+		for(int i = 0; i < document.size(); i++) {
+			Font font = document.getStyle(i).getFont();
+			assertEquals((int) Math.ceil(font.getStringBounds(document.getText(i), fontRenderContext).getWidth()), document.getWidth(i));
+			assertEquals((int) Math.ceil(font.getLineMetrics(document.getText(i), fontRenderContext).getHeight()), document.getHeight(i));
+		}
+
+		log.info("Ending measure");
+	}
+
+	/**
+	 * Test to validate that a document renders the same image than the lines added one by one
+	 */
+	@Test
+	@DisplayName("Test 02 Same image")
+	void test02SameImage() throws Exception {
+		log.info("Starting same image");
+
+		ImageForge byLine = ImageForge.builder().build();
+		for(TextForge line : lines(30))
+			byLine.addLine(line);
+
+		ImageForge byDocument = ImageForge.builder().build();
+		byDocument.addLines(TextDocument.of(lines(30)));
+
+		ImageForge byBuilder = ImageForge.builder().lines(lines(30)).build();
+
+		byte[] expected = byLine.forgeImage(ImageEncoder.raw);
+		assertArrayEquals(expected, byDocument.forgeImage(ImageEncoder.raw));
+		assertArrayEquals(expected, byBuilder.forgeImage(ImageEncoder.raw));
+		assertTrue(expected.length > 0);
+
+		log.info("Ending same image");
+	}
+
+	/**
+	 * Test to validate that the lines without align, font or color are rejected as by the forge
+	 */
+	@Test
+	@DisplayName("Test 03 Invalid lines")
+	void test03InvalidLines() throws Exception {
+		log.info("Starting invalid lines");
+
+		TextDocument document = new TextDocument();
+		assertThrows(InvalidTextForgeConfigException.class, () -> document.add("no align", null, FONT, Color.BLACK));
+		assertThrows(InvalidTextForgeConfigException.class, () -> document.add("no font", TextAlign.LEFT, null, Color.BLACK));
+		assertThrows(InvalidTextForgeConfigException.class, () -> document.add(TextForge.builder().text("no color").textAlign(TextAlign.LEFT).font(FONT).build()));
+		assertEquals(0, document.size(), "The invalid lines should not be added");
+
+		List<TextForge> lines = lines(3);
+		lines.get(1).setFont(null);
+		assertThrows(InvalidTextForgeConfigException.class, () -> TextDocument.of(lines));
+		ImageForge byBuilder = ImageForge.builder().lines(lines).build();
+		assertThrows(IllegalArgumentException.class, () -> byBuilder.forgeImage(ImageEncoder.raw));
+
+		log.info("Ending invalid lines");
+	}
+
+}
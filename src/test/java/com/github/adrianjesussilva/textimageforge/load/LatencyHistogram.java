@@ -0,0 +1,107 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+/**
+ * Log-linear latency histogram in the HdrHistogram style.
+ *
+ * Values under 2048 have their own bucket, after that every power of two is split in 1024 buckets,
+ * so any recorded value is kept with a relative error under 0.1% using a fixed amount of memory.
+ * It is not thread safe, each worker records in its own histogram and they are merged with {@link #add}
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class LatencyHistogram {
+
+	// Constants
+	private static final int SUB_BUCKET_BITS = 10;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+	private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	// Attributes
+	private final long[] counts = new long[BUCKETS];
+	private long totalCount;
+	private long min = Long.MAX_VALUE;
+	private long max;
+	private double sum;
+
+	// Private Methods
+	private static int indexOf(long value) {
+		if(value < LINEAR_LIMIT)
+			return (int) value;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	private static long highestValueAt(int index) {
+		if(index < LINEAR_LIMIT)
+			return index;
+		int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+		long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	// Public Methods
+	/**
+	 * procedure that record one value
+	 * @param value (long) - the latency, normally in nanoseconds
+	 */
+	public void record(long value) {
+		if(value < 0)
+			throw new IllegalArgumentException("the histogram only accept positive values");
+		counts[indexOf(value)]++;
+		totalCount++;
+		sum += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * procedure that merge the values of other histogram into this one
+	 * @param other (LatencyHistogram) - histogram to merge
+	 */
+	public void add(LatencyHistogram other) {
+		for(int i = 0; i < BUCKETS; i++)
+			counts[i] += other.counts[i];
+		totalCount += other.totalCount;
+		sum += other.sum;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * function that calculate the value at the given percentile
+	 * @param percentile (double) - between 0 and 100
+	 * @return long - the highest value equivalent to the bucket of the percentile
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if(totalCount == 0)
+			return 0;
+		long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if(seen >= target)
+				return Math.min(highestValueAt(i), max);
+		}
+		return max;
+	}
+
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	public long getMin() {
+		return totalCount == 0 ? 0 : min;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return totalCount == 0 ? 0 : sum / totalCount;
+	}
+
+}
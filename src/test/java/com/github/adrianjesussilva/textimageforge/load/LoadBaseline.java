@@ -0,0 +1,84 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Checked-in reference numbers of the load scenarios, relative to the calibration of the host they were
+ * measured on as {@link LoadResult#store(Properties, double)} writes them.
+ *
+ * A result regress when any of its latencies is higher than the baseline, or its throughput lower,
+ * by more than the allowed threshold once both are relative to the calibration of their own host
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class LoadBaseline {
+
+	// Constants
+	private static final String[] LATENCIES = {LoadResult.P50, LoadResult.P99, LoadResult.P999};
+
+	// Attributes
+	private final Properties values;
+	private final double threshold;
+
+	// Constructor
+	public LoadBaseline(Properties values, double threshold) {
+		this.values = values;
+		this.threshold = threshold;
+	}
+
+	// Public Methods
+	/**
+	 * function that load the baseline from the classpath
+	 * @param resource (String) - path of the properties resource
+	 * @param threshold (double) - allowed regression, 0.25 is 25%
+	 * @return LoadBaseline - the loaded baseline
+	 * @throws IOException - if the resource is missing or can not be read
+	 */
+	public static LoadBaseline load(String resource, double threshold) throws IOException {
+		Properties values = new Properties();
+		try (InputStream input = LoadBaseline.class.getResourceAsStream(resource)) {
+			if(Objects.isNull(input))
+				throw new IOException("The load baseline " + resource + " does not exist");
+			values.load(input);
+		}
+		return new LoadBaseline(values, threshold);
+	}
+
+	/**
+	 * function that compare a result against the baseline
+	 * @param result (LoadResult) - the measured result
+	 * @param calibrationMillis (double) - mean milliseconds of a reference workload pass on this host
+	 * @return List - description of every regression, empty when the result is acceptable
+	 */
+	public List<String> regressions(LoadResult result, double calibrationMillis) {
+		List<String> regressions = new ArrayList<>();
+		Properties measured = result.store(new Properties(), calibrationMillis);
+
+		for(String latency : LATENCIES) {
+			String key = result.getScenario() + "." + latency;
+			if(!values.containsKey(key))
+				continue;
+			double expected = Double.parseDouble(values.getProperty(key));
+			double actual = Double.parseDouble(measured.getProperty(key));
+			if(actual > expected * (1 + threshold))
+				regressions.add(String.format(Locale.ROOT, "%s is %.3f reference passes, baseline %.3f", key, actual, expected));
+		}
+
+		String key = result.getScenario() + "." + LoadResult.THROUGHPUT;
+		if(values.containsKey(key)) {
+			double expected = Double.parseDouble(values.getProperty(key));
+			double actual = Double.parseDouble(measured.getProperty(key));
+			if(actual < expected * (1 - threshold))
+				regressions.add(String.format(Locale.ROOT, "%s is %.4f requests per reference pass, baseline %.4f", key, actual, expected));
+		}
+		return regressions;
+	}
+
+}
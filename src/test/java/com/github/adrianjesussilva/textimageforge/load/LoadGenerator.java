@@ -0,0 +1,121 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Offline load generator that drives the forge with a {@link VoucherMix}.
+ *
+ * Two models are supported, a closed one with a fixed number of workers rendering back to back and
+ * an open one where requests arrive at a fixed rate. In the open model the latency is measured from
+ * the moment the request should have started, so a slow render also counts the time the next requests
+ * spend waiting for it (no coordinated omission)
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class LoadGenerator {
+
+	// Attributes
+	private final VoucherMix mix;
+	private final int workers;
+	private final long warmupRequests;
+
+	// Constructor
+	public LoadGenerator(VoucherMix mix, int workers, long warmupRequests) {
+		this.mix = mix;
+		this.workers = workers;
+		this.warmupRequests = warmupRequests;
+	}
+
+	// Private Methods
+	/**
+	 * function that run the given requests with all the workers
+	 * @param requests (long) - number of requests to render
+	 * @param intervalNanos (long) - time between arrivals, 0 for back to back rendering
+	 * @return LoadResult - the merged latencies of the workers
+	 */
+	private LoadResult run(String scenario, long requests, long intervalNanos) throws InterruptedException, ExecutionException {
+		// warm up the JIT, fonts and codecs outside the measures
+		for(long i = 0; i < warmupRequests; i++) {
+			try {
+				mix.voucher(-1 - i).render();
+			} catch (Exception e) {
+				throw new ExecutionException(e);
+			}
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		AtomicLong sequence = new AtomicLong();
+		AtomicLong errors = new AtomicLong();
+		List<Future<LatencyHistogram>> futures = new ArrayList<>();
+		long start = System.nanoTime();
+		try {
+			for(int w = 0; w < workers; w++) {
+				futures.add(executor.submit(() -> {
+					LatencyHistogram histogram = new LatencyHistogram();
+					long next;
+					while((next = sequence.getAndIncrement()) < requests) {
+						long intended = start + next * intervalNanos;
+						if(intervalNanos > 0) {
+							long wait;
+							while((wait = intended - System.nanoTime()) > 0)
+								LockSupport.parkNanos(wait);
+						}
+						long begin = intervalNanos > 0 ? intended : System.nanoTime();
+						try {
+							mix.voucher(next).render();
+						} catch (Exception e) {
+							errors.incrementAndGet();
+						}
+						histogram.record(System.nanoTime() - begin);
+					}
+					return histogram;
+				}));
+			}
+
+			LatencyHistogram histogram = new LatencyHistogram();
+			for(Future<LatencyHistogram> future : futures)
+				histogram.add(future.get());
+			long elapsed = System.nanoTime() - start;
+			return new LoadResult(scenario, histogram, elapsed, errors.get());
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	// Public Methods
+	/**
+	 * function that render the requests with every worker starting the next one as soon as it ends
+	 * @param scenario (String) - name of the scenario in the results
+	 * @param requests (long) - number of requests to render
+	 * @return LoadResult - latencies and throughput of the run
+	 * @throws InterruptedException - if the run is interrupted
+	 * @throws ExecutionException - if a worker fails
+	 */
+	public LoadResult fixedConcurrency(String scenario, long requests) throws InterruptedException, ExecutionException {
+		return run(scenario, requests, 0);
+	}
+
+	/**
+	 * function that render the requests arriving at the given rate
+	 * @param scenario (String) - name of the scenario in the results
+	 * @param requests (long) - number of requests to render
+	 * @param requestsPerSecond (double) - arrival rate
+	 * @return LoadResult - latencies and throughput of the run
+	 * @throws InterruptedException - if the run is interrupted
+	 * @throws ExecutionException - if a worker fails
+	 */
+	public LoadResult fixedRate(String scenario, long requests, double requestsPerSecond) throws InterruptedException, ExecutionException {
+		return run(scenario, requests, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a load run, latencies in milliseconds and throughput in requests per second.
+ *
+ * They are stored relative to the calibration of the host, the mean time of a {@link ReferenceWorkload}
+ * pass, latencies as passes and throughput as requests per pass. The workload runs no code of the forge,
+ * so the numbers of a faster or slower host can be compared with the baseline and a slower forge still
+ * shows up
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class LoadResult {
+
+	// Constants
+	public static final String P50 = "p50";
+	public static final String P99 = "p99";
+	public static final String P999 = "p99.9";
+	public static final String THROUGHPUT = "throughput";
+	public static final String CALIBRATION = "calibration.ms";
+
+	// Attributes
+	private final String scenario;
+	private final LatencyHistogram histogram;
+	private final long elapsedNanos;
+	private final long errors;
+
+	// Constructor
+	public LoadResult(String scenario, LatencyHistogram histogram, long elapsedNanos, long errors) {
+		this.scenario = scenario;
+		this.histogram = histogram;
+		this.elapsedNanos = elapsedNanos;
+		this.errors = errors;
+	}
+
+	// Private Methods
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	// Public Methods
+	public String getScenario() {
+		return scenario;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	public double getLatencyMillis(double percentile) {
+		return toMillis(histogram.getValueAtPercentile(percentile));
+	}
+
+	public double getThroughput() {
+		return histogram.getTotalCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+
+	/**
+	 * function that write the result relative to the calibration with the same keys used by the baseline file
+	 * @param properties (Properties) - where to write the result
+	 * @param calibrationMillis (double) - mean milliseconds of a reference workload pass on this host
+	 * @return Properties - the given properties
+	 */
+	public Properties store(Properties properties, double calibrationMillis) {
+		properties.setProperty(scenario + "." + P50, String.format(Locale.ROOT, "%.3f", getLatencyMillis(50) / calibrationMillis));
+		properties.setProperty(scenario + "." + P99, String.format(Locale.ROOT, "%.3f", getLatencyMillis(99) / calibrationMillis));
+		properties.setProperty(scenario + "." + P999, String.format(Locale.ROOT, "%.3f", getLatencyMillis(99.9) / calibrationMillis));
+		properties.setProperty(scenario + "." + THROUGHPUT, String.format(Locale.ROOT, "%.4f", getThroughput() * calibrationMillis / TimeUnit.SECONDS.toMillis(1)));
+		return properties;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "%s: %d requests, %d errors, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms, %.1f req/s",
+				scenario, histogram.getTotalCount(), errors, getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(99.9),
+				toMillis(histogram.getMax()), getThroughput());
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed CPU workload that measures the speed of the host without running any code of the forge.
+ *
+ * A pass fills a voucher sized canvas and blends a coverage pattern over it with plain integer loops,
+ * close to what a render costs but frozen. The load results are stored relative to a pass, so they
+ * cancel the speed of the host and still show a slower forge. Changing the pass changes the unit of
+ * the baseline, regenerate it if this class is touched
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public final class ReferenceWorkload {
+
+	// Constants
+	private static final int WIDTH = 330;
+	private static final int HEIGHT = 720;
+	private static final long SEED = 7L;
+	private static final int BATCHES = 5;
+
+	// Attributes
+	private final int[] canvas = new int[WIDTH * HEIGHT];
+	private final byte[] coverage = new byte[WIDTH * HEIGHT];
+
+	// Constructor
+	private ReferenceWorkload() {
+		new Random(SEED).nextBytes(coverage);
+	}
+
+	// Private Methods
+	/**
+	 * function that run one pass of the workload
+	 * @param round (int) - number of the pass, it changes the ink so the work can not be skipped
+	 * @return int - checksum of the canvas
+	 */
+	private int pass(int round) {
+		int ink = round * 0x010203 & 0xFFFFFF;
+		int checksum = 0;
+		for(int y = 0; y < HEIGHT; y++) {
+			int row = y * WIDTH;
+			for(int x = 0; x < WIDTH; x++)
+				canvas[row + x] = 0xFFFFFF;
+			for(int x = 0; x < WIDTH; x++) {
+				int alpha = coverage[row + x] & 0xFF;
+				int background = canvas[row + x];
+				int r = (alpha * (ink >> 16 & 0xFF) + (255 - alpha) * (background >> 16 & 0xFF)) / 255;
+				int g = (alpha * (ink >> 8 & 0xFF) + (255 - alpha) * (background >> 8 & 0xFF)) / 255;
+				int b = (alpha * (ink & 0xFF) + (255 - alpha) * (background & 0xFF)) / 255;
+				canvas[row + x] = r << 16 | g << 8 | b;
+				checksum = 31 * checksum + canvas[row + x];
+			}
+		}
+		return checksum;
+	}
+
+	// Public Methods
+	/**
+	 * function that measure the speed of the host with a single thread, the passes are measured in
+	 * batches and the fastest one is kept, the slower ones were disturbed by other work of the host
+	 * @param warmup (int) - passes run before measuring, for the JIT
+	 * @param passes (int) - passes measured
+	 * @return double - mean milliseconds of a pass in the fastest batch
+	 */
+	public static double calibrate(int warmup, int passes) {
+		ReferenceWorkload workload = new ReferenceWorkload();
+		int checksum = 0;
+		for(int i = 0; i < warmup; i++)
+			checksum += workload.pass(i);
+		int batch = Math.max(1, passes / BATCHES);
+		long fastest = Long.MAX_VALUE;
+		for(int b = 0; b < BATCHES; b++) {
+			long start = System.nanoTime();
+			for(int i = 0; i < batch; i++)
+				checksum += workload.pass(i);
+			fastest = Math.min(fastest, System.nanoTime() - start);
+		}
+		// keep the checksum alive
+		if(checksum == 42)
+			System.out.print("");
+		return fastest / (double) TimeUnit.MILLISECONDS.toNanos(1) / batch;
+	}
+
+}
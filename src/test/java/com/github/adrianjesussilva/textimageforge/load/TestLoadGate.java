@@ -0,0 +1,56 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Unit tests of the load gate itself, a short run of the mix is the baseline of the same run with slower
+ * renders, measured on its own calibration as the gate does
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TestLoadGate {
+
+	// Constants
+	private static final long SEED = 20231019L;
+	private static final int WORKERS = 2;
+	private static final long WARMUP_REQUESTS = 60;
+	private static final long REQUESTS = 200;
+	private static final double THRESHOLD = 0.25;
+	private static final double SLOWDOWN = 2;
+
+	/**
+	 * Test to validate that renders three times as slow regress against the baseline, the calibration does not
+	 * slow down with them
+	 */
+	@Test
+	@DisplayName("Test 01 Slower renders fail")
+	void test01SlowerRendersFail() throws Exception {
+		log.info("Starting slower renders fail");
+
+		double calibrationMillis = ReferenceWorkload.calibrate(50, 250);
+		LoadResult reference = new LoadGenerator(new VoucherMix(SEED), WORKERS, WARMUP_REQUESTS).fixedConcurrency("concurrency", REQUESTS);
+		LoadBaseline baseline = new LoadBaseline(reference.store(new Properties(), calibrationMillis), THRESHOLD);
+
+		double slowedCalibrationMillis = ReferenceWorkload.calibrate(50, 250);
+		LoadResult slowed = new LoadGenerator(new VoucherMix(SEED, SLOWDOWN), WORKERS, WARMUP_REQUESTS).fixedConcurrency("concurrency", REQUESTS);
+		List<String> regressions = baseline.regressions(slowed, slowedCalibrationMillis);
+		log.info(reference + " / " + slowed + " / " + regressions);
+		assertFalse(regressions.isEmpty(), "The slower renders should regress");
+
+		log.info("Ending slower renders fail");
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Load regression gate of the forge.
+ *
+ * It only runs with the load profile ({@code mvn -Pload test}). The {@link ReferenceWorkload} measures the
+ * speed of the host first, without any code of the forge, the arrival rate is set from it and the measured
+ * numbers are written relative to it in target/load/results.properties, copy them to
+ * src/test/resources/load/baseline.properties to accept a new baseline. The calibration does not remove
+ * the effect of the number of cores on the concurrent scenarios, so regenerate the baseline on the host
+ * that runs the gate when it has other number of cores than {@link #WORKERS}
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.MethodName.class)
+@EnabledIfSystemProperty(named = "textimageforge.load", matches = "true")
+class TestLoadRegression {
+
+	// Constants
+	private static final long SEED = 20231019L;
+	private static final int WORKERS = 4;
+	private static final long WARMUP_REQUESTS = 300;
+	private static final long REQUESTS = 1500;
+	private static final int CALIBRATION_WARMUP = 200;
+	private static final int CALIBRATION_PASSES = 1000;
+	// reference passes between arrivals per core, about a third of what the host renders
+	private static final double ARRIVAL_PASSES = 12;
+	private static final String BASELINE = "/load/baseline.properties";
+	private static final File RESULTS = new File("target" + File.separator + "load" + File.separator + "results.properties");
+
+	// Attributes
+	private static LoadBaseline baseline;
+	private static Properties results;
+	private static double calibrationMillis;
+
+	@BeforeAll
+	static void loadBaseline() throws Exception {
+		baseline = LoadBaseline.load(BASELINE, Double.parseDouble(System.getProperty("textimageforge.load.threshold", "0.25")));
+		results = new Properties();
+		calibrationMillis = ReferenceWorkload.calibrate(CALIBRATION_WARMUP, CALIBRATION_PASSES);
+		results.setProperty(LoadResult.CALIBRATION, String.format(Locale.ROOT, "%.4f", calibrationMillis));
+		log.info(String.format(Locale.ROOT, "Calibration: %.4f ms per reference pass", calibrationMillis));
+	}
+
+	@AfterAll
+	static void storeResults() throws IOException {
+		RESULTS.getParentFile().mkdirs();
+		try (OutputStream output = new FileOutputStream(RESULTS)) {
+			results.store(output, "Text to Image Forge load results");
+		}
+		log.info("Load results written in " + RESULTS.getAbsolutePath());
+	}
+
+	// private methods
+	private void check(LoadResult result) {
+		log.info(result);
+		result.store(results, calibrationMillis);
+		assertEquals(0, result.getErrors(), "The load run should not produce errors");
+		List<String> regressions = baseline.regressions(result, calibrationMillis);
+		assertTrue(regressions.isEmpty(), "Regression against the baseline: " + regressions);
+	}
+
+	/**
+	 * Test with a fixed number of workers rendering back to back
+	 */
+	@Test
+	@DisplayName("Test 00 Fixed concurrency")
+	void test00FixedConcurrency() throws Exception {
+		log.info("Starting fixed concurrency load");
+		LoadGenerator generator = new LoadGenerator(new VoucherMix(SEED), WORKERS, WARMUP_REQUESTS);
+		check(generator.fixedConcurrency("concurrency", REQUESTS));
+		log.info("Ending fixed concurrency load");
+	}
+
+	/**
+	 * Test with requests arriving at a fixed rate, set in reference passes so it is the same load on any host
+	 */
+	@Test
+	@DisplayName("Test 01 Fixed arrival rate")
+	void test01FixedArrivalRate() throws Exception {
+		log.info("Starting fixed arrival rate load");
+		int cores = Math.min(WORKERS, Runtime.getRuntime().availableProcessors());
+		double requestsPerSecond = cores * TimeUnit.SECONDS.toMillis(1) / (ARRIVAL_PASSES * calibrationMillis);
+		LoadGenerator generator = new LoadGenerator(new VoucherMix(SEED), WORKERS, WARMUP_REQUESTS);
+		check(generator.fixedRate("rate", REQUESTS, requestsPerSecond));
+		log.info("Ending fixed arrival rate load");
+	}
+
+}
@@ -0,0 +1,181 @@
+package com.github.adrianjesussilva.textimageforge.load;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.CubicCurve2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.codec.binary.Base64;
+
+import com.github.adrianjesussilva.textimageforge.enumerator.ImageEncoder;
+import com.github.adrianjesussilva.textimageforge.enumerator.TextAlign;
+import com.github.adrianjesussilva.textimageforge.logic.exception.InvalidTextForgeConfigException;
+import com.github.adrianjesussilva.textimageforge.logic.image.ImageForge;
+import com.github.adrianjesussilva.textimageforge.logic.text.TextForge;
+
+/**
+ * Reproducible mix of vouchers used by the load generator.
+ *
+ * Every request is derived only from the seed and its sequence number, so two runs with the same
+ * seed render exactly the same vouchers in the same order no matter how many workers are used
+ *
+ * @author Adrian Jesus Simoes Silva
+ *
+ */
+public class VoucherMix {
+
+	// Constants
+	private static final int[] LINE_COUNTS = {6, 6, 6, 14, 14, 14, 14, 30, 30, 80};
+	private static final Font[] FONTS = {
+			new Font(Font.MONOSPACED, Font.PLAIN, 12),
+			new Font(Font.MONOSPACED, Font.BOLD, 12),
+			new Font(Font.MONOSPACED, Font.PLAIN, 10),
+			new Font(Font.SANS_SERIF, Font.PLAIN, 14)};
+	private static final String[] WORDS = {"TOTAL", "VISA", "****4242", "APPROVED", "AUTH", "000123",
+			"TERMINAL", "MERCHANT", "REF", "12.50", "1,234.00", "DEBIT", "CASH", "TIP", "--------"};
+	private static final int SIGNATURE_PERCENT = 30;
+	private static final int JPG_PERCENT = 40;
+
+	// Attributes
+	private final long seed;
+	private final double slowdown;
+	private final String smallSignature;
+	private final String wideSignature;
+
+	// Constructor
+	public VoucherMix(long seed) {
+		this(seed, 0);
+	}
+
+	/**
+	 * @param seed (long) - seed of the vouchers
+	 * @param slowdown (double) - extra busy time of each render as a share of its own time, only to check
+	 * that the gate catches a slower forge
+	 */
+	public VoucherMix(long seed, double slowdown) {
+		this.seed = seed;
+		this.slowdown = slowdown;
+		this.smallSignature = signature(60, 30, seed);
+		this.wideSignature = signature(600, 160, seed + 1);
+	}
+
+	// Private Methods
+	/**
+	 * function that draw a synthetic signature, some curves of ink over transparent background
+	 * @return String - the png signature in base 64
+	 */
+	private static String signature(int width, int height, long seed) {
+		Random random = new Random(seed);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2d = image.createGraphics();
+		graphics2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics2d.setColor(new Color(20, 30, 120));
+		graphics2d.setStroke(new BasicStroke(Math.max(1, height / 30f)));
+		for(int i = 0; i < 4; i++)
+			graphics2d.draw(new CubicCurve2D.Float(random.nextInt(width), random.nextInt(height), random.nextInt(width), random.nextInt(height),
+					random.nextInt(width), random.nextInt(height), random.nextInt(width), random.nextInt(height)));
+		graphics2d.dispose();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			ImageIO.write(image, "png", output);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return Base64.encodeBase64String(output.toByteArray());
+	}
+
+	// Public Methods
+	/**
+	 * function that build the voucher of the given sequence number
+	 * @param sequence (long) - number of the request in the run
+	 * @return Voucher - the forge and how it has to be rendered
+	 * @throws InvalidTextForgeConfigException - in case of bad definition of the lines
+	 */
+	public Voucher voucher(long sequence) throws InvalidTextForgeConfigException {
+		Random random = new Random(seed * 31 + sequence);
+		ImageForge forge = ImageForge.builder().build();
+
+		int lineCount = LINE_COUNTS[random.nextInt(LINE_COUNTS.length)];
+		for(int i = 0; i < lineCount; i++) {
+			StringBuilder text = new StringBuilder();
+			int words = 1 + random.nextInt(5);
+			for(int w = 0; w < words; w++)
+				text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+			forge.addLine(TextForge.builder()
+					.text(text.toString().trim())
+					.textAlign(TextAlign.values()[random.nextInt(TextAlign.values().length)])
+					.font(FONTS[random.nextInt(FONTS.length)])
+					.color(Color.BLACK)
+					.build());
+		}
+
+		String signature = null;
+		if(random.nextInt(100) < SIGNATURE_PERCENT)
+			signature = random.nextBoolean() ? smallSignature : wideSignature;
+		ImageEncoder encoder = random.nextInt(100) < JPG_PERCENT ? ImageEncoder.jpg : ImageEncoder.png;
+
+		return new Voucher(forge, encoder, signature, slowdown);
+	}
+
+	/**
+	 * One rendering request of the mix
+	 */
+	public static class Voucher {
+
+		private final ImageForge forge;
+		private final ImageEncoder encoder;
+		private final String signature;
+		private final double slowdown;
+
+		public Voucher(ImageForge forge, ImageEncoder encoder, String signature) {
+			this(forge, encoder, signature, 0);
+		}
+
+		public Voucher(ImageForge forge, ImageEncoder encoder, String signature, double slowdown) {
+			this.forge = forge;
+			this.encoder = encoder;
+			this.signature = signature;
+			this.slowdown = slowdown;
+		}
+
+		private int forge() throws IOException, InvalidTextForgeConfigException {
+			if(signature == null)
+				return forge.forgeImage(encoder).length;
+			// the encoder of the mix, jpg included, with the signature stamped
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			forge.forgeImage(output, encoder, signature);
+			return output.size();
+		}
+
+		/**
+		 * function that render the voucher through the same entry points used in production
+		 * @return int - size of the produced output
+		 * @throws IOException - in case that can not encode the image
+		 * @throws InvalidTextForgeConfigException - in case that the signature can not be read
+		 */
+		public int render() throws IOException, InvalidTextForgeConfigException {
+			long start = System.nanoTime();
+			int size = forge();
+			if(slowdown > 0) {
+				// busy as a slower forge would be, not sleeping
+				long end = start + (long) ((System.nanoTime() - start) * (1 + slowdown));
+				while(System.nanoTime() < end) {
+					// spin
+				}
+			}
+			return size;
+		}
+
+	}
+
+}